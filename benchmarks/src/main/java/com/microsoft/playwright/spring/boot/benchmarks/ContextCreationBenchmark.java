@@ -0,0 +1,90 @@
+package com.microsoft.playwright.spring.boot.benchmarks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各浏览器模式下创建一个上下文的延迟（makeObject），驱动与浏览器在预热阶段已启动，
+ * 测量结果反映池扩容时的单次创建开销；销毁在调用之后进行，不计入测量。
+ * 远程模式需要先启动 {@code playwright run-server} 并通过 -Dbenchmark.ws-endpoint 指定地址：
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ContextCreationBenchmark
+ * java -jar target/benchmarks.jar ContextCreationBenchmark -p mode=remote -jvmArgsAppend -Dbenchmark.ws-endpoint=ws://127.0.0.1:3000/
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ContextCreationBenchmark {
+
+    @Param({"incognito", "persistent"})
+    public PlaywrightProperties.BrowserMode mode;
+
+    /**
+     * 单个浏览器进程最多打开的上下文数量，为 1 时每次创建都会启动新的浏览器进程（持久化模式下固定为 1）
+     */
+    @Param({"1", "8"})
+    public int contextsPerBrowser;
+
+    private BrowserContextPooledObjectFactory factory;
+    private PooledObject<BrowserContext> created;
+    /**
+     * 保持一个上下文存活，使驱动及其浏览器进程不会随最后一个上下文一起关闭
+     */
+    private PooledObject<BrowserContext> keepAlive;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        switch (mode) {
+            case persistent:
+                factory = new BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType.chromium,
+                        new BrowserType.LaunchPersistentContextOptions().setHeadless(true),
+                        Files.createTempDirectory("playwright-bench").toString());
+                break;
+            case remote:
+                factory = new BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType.chromium,
+                        Arrays.asList(System.getProperty("benchmark.ws-endpoint", "ws://127.0.0.1:3000/").split(",")),
+                        null, null);
+                break;
+            default:
+                factory = new BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType.chromium,
+                        new BrowserType.LaunchOptions().setHeadless(true), null);
+                break;
+        }
+        factory.setContextsPerBrowser(contextsPerBrowser);
+        keepAlive = factory.makeObject();
+    }
+
+    @TearDown(Level.Invocation)
+    public void destroy() throws Exception {
+        if (created != null) {
+            factory.destroyObject(created);
+            created = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        factory.destroyObject(keepAlive);
+        factory.close();
+    }
+
+    @Benchmark
+    public BrowserContext create() throws Exception {
+        created = factory.makeObject();
+        return created.getObject();
+    }
+
+}
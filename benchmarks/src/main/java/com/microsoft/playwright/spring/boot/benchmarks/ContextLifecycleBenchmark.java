@@ -0,0 +1,112 @@
+package com.microsoft.playwright.spring.boot.benchmarks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPooledObjectFactory;
+import com.microsoft.playwright.spring.boot.pool.ContextResetStrategy;
+import org.apache.commons.pool2.PooledObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 真实 headless Chromium 上借出（activate）与归还（passivate + 重置）的开销。每次调用前在上下文中打开本地页面，
+ * 写入 cookie 与站点存储，使重置有实际数据可清理；recreate 策略下归还的开销为销毁并重新创建上下文。
+ * 借出不访问驱动，使用单独的状态，不做逐次弄脏，也不按重置策略重复测量。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ContextLifecycleBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ContextLifecycleBenchmark {
+
+    /**
+     * 借出：只做退役检查与计数，不访问驱动
+     */
+    @Benchmark
+    public void activate(Activation state) throws Exception {
+        state.factory.activateObject(state.pooledObject);
+    }
+
+    /**
+     * 归还：按重置策略清理上下文，recreate 时销毁并重新创建
+     */
+    @Benchmark
+    public void passivate(Passivation state) throws Exception {
+        if (state.factory.isReusable(state.pooledObject.getObject())) {
+            state.factory.passivateObject(state.pooledObject);
+        } else {
+            state.factory.destroyObject(state.pooledObject);
+            state.pooledObject = state.factory.makeObject();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Activation {
+
+        BrowserContextPooledObjectFactory factory;
+        PooledObject<BrowserContext> pooledObject;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            factory = new BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType.chromium,
+                    new BrowserType.LaunchOptions().setHeadless(true), null);
+            pooledObject = factory.makeObject();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            factory.destroyObject(pooledObject);
+            factory.close();
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Passivation {
+
+        @Param({"cookies", "storage", "recreate"})
+        public ContextResetStrategy resetStrategy;
+
+        FixtureServer server;
+        BrowserContextPooledObjectFactory factory;
+        PooledObject<BrowserContext> pooledObject;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            server = new FixtureServer().start();
+            factory = new BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType.chromium,
+                    new BrowserType.LaunchOptions().setHeadless(true), null);
+            factory.setResetStrategy(resetStrategy);
+            pooledObject = factory.makeObject();
+        }
+
+        /**
+         * 模拟一次渲染任务在上下文中留下的页面与站点数据，不计入测量；归还时的重置会关闭该页面
+         */
+        @Setup(Level.Invocation)
+        public void dirty() {
+            BrowserContext browserContext = pooledObject.getObject();
+            factory.run(browserContext, () -> {
+                Page page = browserContext.newPage();
+                page.navigate(server.url(FixtureServer.STATEFUL_PAGE));
+            });
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            factory.destroyObject(pooledObject);
+            factory.close();
+            server.close();
+        }
+
+    }
+
+}
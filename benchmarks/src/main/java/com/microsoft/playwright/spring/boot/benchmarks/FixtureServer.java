@@ -0,0 +1,171 @@
+package com.microsoft.playwright.spring.boot.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试与压测使用的本地页面服务，绑定在回环地址的随机端口上，避免公网延迟干扰测量结果
+ */
+public class FixtureServer implements AutoCloseable {
+
+    /**
+     * 写入 cookie 与 localStorage/sessionStorage 的页面，用于测量上下文重置的开销
+     */
+    public static final String STATEFUL_PAGE = "/stateful";
+
+    private static final String STATEFUL_HTML = "<!DOCTYPE html><html><head><title>stateful</title></head><body>"
+            + "<script>"
+            + "document.cookie = 'session=' + Date.now() + '; path=/';"
+            + "for (var i = 0; i < 32; i++) { localStorage.setItem('key' + i, 'value' + i); sessionStorage.setItem('key' + i, 'value' + i); }"
+            + "</script><p>stateful</p></body></html>";
+
+    /**
+     * 静态页面：内联样式、文本与 SVG，无脚本
+     */
+    public static final String STATIC_PAGE = "/static";
+    /**
+     * 脚本密集页面：由脚本分批生成内容并做同步计算，load 之后仍有异步渲染
+     */
+    public static final String SCRIPT_PAGE = "/script";
+    /**
+     * 慢加载页面：HTML 与其引用的图片都延迟返回，load 事件随图片推迟
+     */
+    public static final String SLOW_PAGE = "/slow";
+    /**
+     * 超大 DOM 页面：服务端生成的大表格
+     */
+    public static final String LARGE_DOM_PAGE = "/large-dom";
+
+    private static final String SLOW_ASSET = "/slow-asset.svg";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public FixtureServer() throws IOException {
+        this(Duration.ofMillis(500), 5000);
+    }
+
+    /**
+     * @param slowDelay 慢加载页面的 HTML 及其图片各自的响应延迟
+     * @param largeDomRows 超大 DOM 页面的表格行数（每行 10 列）
+     */
+    public FixtureServer(Duration slowDelay, int largeDomRows) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+        addHtml(STATEFUL_PAGE, STATEFUL_HTML);
+        addHtml(STATIC_PAGE, staticHtml());
+        addHtml(SCRIPT_PAGE, scriptHtml());
+        addHtml(LARGE_DOM_PAGE, largeDomHtml(largeDomRows));
+        add(SLOW_PAGE, "text/html; charset=utf-8", slowHtml(), slowDelay);
+        add(SLOW_ASSET, "image/svg+xml", SVG, slowDelay);
+    }
+
+    protected void addHtml(String path, String html) {
+        add(path, "text/html; charset=utf-8", html, Duration.ZERO);
+    }
+
+    protected void add(String path, String contentType, String content, Duration delay) {
+        byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, exchange -> {
+            try {
+                if (!delay.isZero()) {
+                    TimeUnit.MILLISECONDS.sleep(delay.toMillis());
+                }
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.getResponseHeaders().set("Cache-Control", "no-store");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private static final String SVG = "<svg xmlns='http://www.w3.org/2000/svg' width='400' height='200'>"
+            + "<rect width='400' height='200' fill='#4a90d9'/><circle cx='200' cy='100' r='80' fill='#f5a623'/></svg>";
+
+    private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt "
+            + "ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris. ";
+
+    private static String staticHtml() {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><title>static</title><style>"
+                + "body{font-family:sans-serif;margin:40px;line-height:1.6}h2{color:#333;border-bottom:1px solid #ddd}"
+                + "</style></head><body><h1>Static Report</h1>");
+        for (int i = 1; i <= 20; i++) {
+            html.append("<h2>Section ").append(i).append("</h2><p>").append(LOREM).append(LOREM).append("</p>");
+            if (i % 5 == 0) {
+                html.append(SVG);
+            }
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    private static String scriptHtml() {
+        return "<!DOCTYPE html><html><head><title>script</title></head><body><div id='app'>loading</div><script>"
+                + "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }"
+                + "var app = document.getElementById('app'); app.textContent = 'fib=' + fib(25);"
+                + "var batch = 0;"
+                + "function renderBatch() {"
+                + "  var frag = document.createDocumentFragment();"
+                + "  for (var i = 0; i < 200; i++) { var d = document.createElement('div'); d.className = 'row';"
+                + "    d.textContent = 'batch ' + batch + ' item ' + i + ' ' + Math.sqrt(i * batch).toFixed(3); frag.appendChild(d); }"
+                + "  app.appendChild(frag);"
+                + "  if (++batch < 20) { setTimeout(renderBatch, 5); } else { document.body.setAttribute('data-ready', 'true'); }"
+                + "}"
+                + "renderBatch();"
+                + "</script></body></html>";
+    }
+
+    private static String slowHtml() {
+        return "<!DOCTYPE html><html><head><title>slow</title></head><body><h1>Slow Page</h1><p>" + LOREM
+                + "</p><img src='" + SLOW_ASSET + "' width='400' height='200'></body></html>";
+    }
+
+    private static String largeDomHtml(int rows) {
+        StringBuilder html = new StringBuilder(rows * 160);
+        html.append("<!DOCTYPE html><html><head><title>large-dom</title><style>td{border:1px solid #ccc;padding:2px}</style></head>")
+                .append("<body><table>");
+        for (int r = 0; r < rows; r++) {
+            html.append("<tr>");
+            for (int c = 0; c < 10; c++) {
+                html.append("<td>").append(r).append('-').append(c).append("</td>");
+            }
+            html.append("</tr>");
+        }
+        return html.append("</table></body></html>").toString();
+    }
+
+    public FixtureServer start() {
+        server.start();
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
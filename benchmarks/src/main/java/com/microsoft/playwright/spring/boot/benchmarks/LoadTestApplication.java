@@ -0,0 +1,216 @@
+package com.microsoft.playwright.spring.boot.benchmarks;
+
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.render.PageRenderer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 离线端到端压测：启动本地测试页面服务，通过 starter 的 {@link PageRenderer} 以指定并发或速率发起截图与 PDF 请求，
+ * 输出每组（负载 × 页面）的吞吐量及 p50/p95/p99 延迟。连接池等配置与应用相同，写在 application.yml 中或通过命令行覆盖：
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.microsoft.playwright.spring.boot.benchmarks.LoadTestApplication \
+ *      --load-test.concurrency=16 --load-test.duration=2m --playwright.browser-pool.max-total=8
+ * </pre>
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestApplication implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    /**
+     * 直方图以微秒记录，可记录的最大延迟为 10 分钟，精度为 3 位有效数字
+     */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    @Autowired
+    private PageRenderer pageRenderer;
+    @Autowired
+    private LoadTestProperties properties;
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(LoadTestApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        System.exit(SpringApplication.exit(application.run(args)));
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        try (FixtureServer server = new FixtureServer(properties.getSlowDelay(), properties.getLargeDomRows()).start()) {
+            // 1、预热：驱动启动、浏览器进程与池扩容，结果丢弃
+            if (!properties.getWarmup().isZero()) {
+                log.info("Warming up for {} ...", properties.getWarmup());
+                execute(newTargets(server), properties.getWarmup());
+            }
+            // 2、测量
+            log.info("Running {} workers for {}{} ...", properties.getConcurrency(), properties.getDuration(),
+                    properties.getRate() > 0 ? " at " + properties.getRate() + " req/s" : "");
+            List<Target> targets = newTargets(server);
+            long elapsedNanos = execute(targets, properties.getDuration());
+            // 3、输出结果
+            report(targets, elapsedNanos);
+        }
+    }
+
+    private List<Target> newTargets(FixtureServer server) {
+        List<Target> targets = new ArrayList<>();
+        for (String page : properties.getPages()) {
+            for (String workload : properties.getWorkloads()) {
+                String url = page.startsWith("http") ? page : server.url("/" + page);
+                targets.add(new Target(workload, page, url));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * 在 duration 内轮流发起各组请求，返回实际耗时（纳秒）
+     */
+    private long execute(List<Target> targets, Duration duration) throws InterruptedException {
+        int concurrency = Math.max(1, properties.getConcurrency());
+        long intervalNanos = properties.getRate() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRate()) : 0L;
+        AtomicLong sequence = new AtomicLong(0);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long seq = sequence.getAndIncrement();
+                    // 开放模型下延迟从计划发起时间算起，避免请求积压时低估延迟
+                    long begin = intervalNanos > 0 ? start + seq * intervalNanos : System.nanoTime();
+                    if (begin >= end) {
+                        return;
+                    }
+                    while (System.nanoTime() < begin) {
+                        LockSupport.parkNanos(begin - System.nanoTime());
+                    }
+                    targets.get((int) (seq % targets.size())).run(pageRenderer, begin);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+        return Math.max(end, System.nanoTime()) - start;
+    }
+
+    private void report(List<Target> targets, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder(System.lineSeparator());
+        report.append(String.format("%-10s %-40s %8s %7s %9s %9s %9s %9s %9s %10s%n",
+                "workload", "page", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "avg(KB)"));
+        Map<String, Target> totals = new LinkedHashMap<>();
+        for (Target target : targets) {
+            appendRow(report, target, seconds);
+            totals.computeIfAbsent(target.workload, workload -> new Target(workload, "*", null)).add(target);
+        }
+        totals.values().forEach(total -> appendRow(report, total, seconds));
+        BrowserContextPool pool = pageRenderer.getBrowserContextPool();
+        report.append(String.format("pool: maxTotal=%d created=%d destroyed=%d meanBorrowWait=%dms maxBorrowWait=%dms%n",
+                pool.getMaxTotal(), pool.getCreatedCount(), pool.getDestroyedCount(),
+                pool.getMeanBorrowWaitTimeMillis(), pool.getMaxBorrowWaitTimeMillis()));
+        log.info(report.toString());
+        if (properties.getHistogramDir() != null) {
+            writeHistograms(targets, new File(properties.getHistogramDir()));
+        }
+    }
+
+    private void appendRow(StringBuilder report, Target target, double seconds) {
+        Histogram histogram = target.histogram;
+        long count = histogram.getTotalCount();
+        report.append(String.format("%-10s %-40s %8d %7d %9.2f %9.1f %9.1f %9.1f %9.1f %10.1f%n",
+                target.workload, abbreviate(target.page), count, target.errors.get(), count / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()),
+                count == 0 ? 0D : target.bytes.get() / 1024D / count));
+    }
+
+    private void writeHistograms(List<Target> targets, File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create histogram dir " + dir);
+        }
+        for (Target target : targets) {
+            File file = new File(dir, target.workload + "-" + target.page.replaceAll("[^A-Za-z0-9.-]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(new FileOutputStream(file), false, "UTF-8")) {
+                // 直方图以微秒记录，按毫秒输出
+                target.histogram.outputPercentileDistribution(out, 1000.0D);
+            }
+        }
+        log.info("Histograms written to {}", dir.getAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000D;
+    }
+
+    private static String abbreviate(String page) {
+        return page.length() <= 40 ? page : page.substring(0, 37) + "...";
+    }
+
+    /**
+     * 一组负载（screenshot 或 pdf）与页面的组合及其统计
+     */
+    private static class Target {
+
+        private final String workload;
+        private final String page;
+        private final String url;
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final AtomicLong errors = new AtomicLong(0);
+        private final AtomicLong bytes = new AtomicLong(0);
+
+        Target(String workload, String page, String url) {
+            this.workload = workload;
+            this.page = page;
+            this.url = url;
+        }
+
+        void run(PageRenderer pageRenderer, long begin) {
+            try {
+                byte[] output = "pdf".equals(workload) ? pageRenderer.pdf(url) : pageRenderer.screenshot(url);
+                bytes.addAndGet(output.length);
+                histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin)));
+            } catch (Exception e) {
+                if (errors.getAndIncrement() == 0) {
+                    log.warn("{} {} failed.", workload, url, e);
+                }
+            }
+        }
+
+        void add(Target other) {
+            histogram.add(other.histogram);
+            errors.addAndGet(other.errors.get());
+            bytes.addAndGet(other.bytes.get());
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.microsoft.playwright.spring.boot.benchmarks;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 压测参数，均可通过命令行覆盖，例如 {@code --load-test.concurrency=16 --load-test.pages=static,static,script}
+ */
+@ConfigurationProperties(LoadTestProperties.PREFIX)
+public class LoadTestProperties {
+
+    public static final String PREFIX = "load-test";
+
+    /**
+     * 并发请求数（工作线程数）
+     */
+    private int concurrency = 8;
+
+    /**
+     * 目标请求速率（次/秒）。大于 0 时按固定间隔发起请求（开放模型），延迟从计划发起时间算起，
+     * 包含排队时间；不大于 0 时每个工作线程完成一次请求后立即发起下一次（封闭模型）
+     */
+    private double rate = 0D;
+
+    /**
+     * 预热时长，期间的结果不计入统计
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 测量时长
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * 负载类型：screenshot、pdf，按顺序轮流发起
+     */
+    private List<String> workloads = Arrays.asList("screenshot", "pdf");
+
+    /**
+     * 页面：static、script、slow、large-dom 为内置测试页面，以 http 开头的按原样访问；
+     * 按顺序轮流访问，重复出现可以提高该页面的比重
+     */
+    private List<String> pages = Arrays.asList("static", "script", "slow", "large-dom");
+
+    /**
+     * 慢加载页面的 HTML 及其图片的响应延迟
+     */
+    private Duration slowDelay = Duration.ofMillis(500);
+
+    /**
+     * 超大 DOM 页面的表格行数
+     */
+    private int largeDomRows = 5000;
+
+    /**
+     * 每组结果的完整延迟分布（.hgrm）输出目录，为空时不输出
+     */
+    private String histogramDir;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public List<String> getWorkloads() {
+        return workloads;
+    }
+
+    public void setWorkloads(List<String> workloads) {
+        this.workloads = workloads;
+    }
+
+    public List<String> getPages() {
+        return pages;
+    }
+
+    public void setPages(List<String> pages) {
+        this.pages = pages;
+    }
+
+    public Duration getSlowDelay() {
+        return slowDelay;
+    }
+
+    public void setSlowDelay(Duration slowDelay) {
+        this.slowDelay = slowDelay;
+    }
+
+    public int getLargeDomRows() {
+        return largeDomRows;
+    }
+
+    public void setLargeDomRows(int largeDomRows) {
+        this.largeDomRows = largeDomRows;
+    }
+
+    public String getHistogramDir() {
+        return histogramDir;
+    }
+
+    public void setHistogramDir(String histogramDir) {
+        this.histogramDir = histogramDir;
+    }
+
+}
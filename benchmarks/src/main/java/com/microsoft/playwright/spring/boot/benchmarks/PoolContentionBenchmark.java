@@ -0,0 +1,129 @@
+package com.microsoft.playwright.spring.boot.benchmarks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 多线程竞争下 {@link BrowserContextPool} 的借出/归还吞吐量。工厂为不访问浏览器的桩实现，
+ * 测量结果只包含池本身（锁、空闲队列、后台创建与等待唤醒）的开销。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar PoolContentionBenchmark -t 16
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class PoolContentionBenchmark {
+
+    /**
+     * 池容量，小于线程数时借出线程需要排队等待
+     */
+    @Param({"4", "16"})
+    public int maxTotal;
+
+    /**
+     * 后台创建线程数，0 表示由借出线程直接创建
+     */
+    @Param({"0", "2"})
+    public int creationConcurrency;
+
+    /**
+     * 桩工厂创建一个上下文的耗时（微秒），模拟冷启动时的创建开销
+     */
+    @Param({"0", "500"})
+    public long createMicros;
+
+    /**
+     * 借出后持有上下文的时间（微秒），模拟渲染任务
+     */
+    @Param({"0", "50"})
+    public long holdMicros;
+
+    private BrowserContextPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GenericObjectPoolConfig<BrowserContext> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(maxTotal);
+        config.setMaxIdle(maxTotal);
+        config.setMinIdle(0);
+        config.setJmxEnabled(false);
+        pool = new BrowserContextPool(new StubBrowserContextFactory(createMicros), config);
+        pool.setCreationConcurrency(creationConcurrency);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public BrowserContext borrowAndReturn() throws Exception {
+        BrowserContext browserContext = pool.borrowObject(Duration.ofSeconds(30));
+        try {
+            if (holdMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(holdMicros));
+            }
+            return browserContext;
+        } finally {
+            pool.returnObject(browserContext);
+        }
+    }
+
+    /**
+     * 以动态代理构造的 BrowserContext 桩，除 toString 外的方法均返回默认值
+     */
+    static class StubBrowserContextFactory extends BasePooledObjectFactory<BrowserContext> {
+
+        private final AtomicLong index = new AtomicLong(0);
+        private final long createNanos;
+
+        StubBrowserContextFactory(long createMicros) {
+            this.createNanos = TimeUnit.MICROSECONDS.toNanos(createMicros);
+        }
+
+        @Override
+        public BrowserContext create() {
+            if (createNanos > 0) {
+                LockSupport.parkNanos(createNanos);
+            }
+            String name = "StubBrowserContext@" + index.incrementAndGet();
+            return (BrowserContext) Proxy.newProxyInstance(BrowserContext.class.getClassLoader(),
+                    new Class<?>[]{BrowserContext.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "toString":
+                                return name;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                        }
+                    });
+        }
+
+        @Override
+        public PooledObject<BrowserContext> wrap(BrowserContext browserContext) {
+            return new DefaultPooledObject<>(browserContext);
+        }
+
+    }
+
+}
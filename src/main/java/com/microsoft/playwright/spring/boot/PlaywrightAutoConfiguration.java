@@ -3,22 +3,39 @@ package com.microsoft.playwright.spring.boot;
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.spring.boot.blocking.ResourceBlocker;
+import com.microsoft.playwright.spring.boot.cache.RenderCache;
+import com.microsoft.playwright.spring.boot.cache.RenderCoalescer;
+import com.microsoft.playwright.spring.boot.har.HarReplayer;
 import com.microsoft.playwright.spring.boot.hooks.PlaywrightHook;
 import com.microsoft.playwright.spring.boot.hooks.PlaywrightInstall;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextCustomizer;
 import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
 import com.microsoft.playwright.spring.boot.pool.BrowserContextPooledObjectFactory;
+import com.microsoft.playwright.spring.boot.pool.BrowserPagePool;
+import com.microsoft.playwright.spring.boot.pool.BrowserPagePooledObjectFactory;
+import com.microsoft.playwright.spring.boot.pool.ProfileTemplate;
+import com.microsoft.playwright.spring.boot.render.CompositeRenderObserver;
+import com.microsoft.playwright.spring.boot.render.PageRenderer;
+import com.microsoft.playwright.spring.boot.render.RenderObserver;
 import com.microsoft.playwright.spring.boot.utils.JmxBeanUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 
+import java.io.File;
+import java.util.stream.Collectors;
+
 @Configuration
 @ConditionalOnClass({ Playwright.class, PooledObjectFactory.class })
 @EnableConfigurationProperties(PlaywrightProperties.class)
@@ -27,7 +44,8 @@ public class PlaywrightAutoConfiguration {
 
     @Bean(name = "browserContextPool")
     @ConditionalOnMissingBean
-    public BrowserContextPool browserContextPool(PlaywrightProperties playwrightProperties){
+    public BrowserContextPool browserContextPool(PlaywrightProperties playwrightProperties,
+                                                 ObjectProvider<BrowserContextCustomizer> contextCustomizers){
 
         // 1、创建 BrowserContextPooledObjectFactory 对象
 
@@ -44,6 +62,19 @@ public class PlaywrightAutoConfiguration {
                     userDataRootDir = System.getProperty("java.io.tmpdir");
                 }
                 factory = new BrowserContextPooledObjectFactory(playwrightProperties.getBrowserType(), launchPersistentOptions, userDataRootDir);
+                if(StringUtils.hasText(playwrightProperties.getLaunchPersistentOptions().getUserDataTemplateDir())){
+                    factory.setProfileTemplate(new ProfileTemplate(new File(playwrightProperties.getLaunchPersistentOptions().getUserDataTemplateDir()),
+                            playwrightProperties.getLaunchPersistentOptions().getTemplateCloneStrategy(),
+                            playwrightProperties.getLaunchPersistentOptions().getTemplateCopyThreads()));
+                }
+
+            };break;
+            case remote: {
+
+                BrowserType.ConnectOptions connectOptions = playwrightProperties.getConnectOptions().toOptions();
+                factory = new BrowserContextPooledObjectFactory(playwrightProperties.getBrowserType(),
+                        playwrightProperties.getConnectOptions().getWsEndpoints(), connectOptions, newContextOptions);
+                factory.setEndpointRetryInterval(playwrightProperties.getConnectOptions().getRetryInterval());
 
             };break;
             default: {
@@ -53,24 +84,93 @@ public class PlaywrightAutoConfiguration {
 
             };break;
         }
+        factory.setBrowsersPerDriver(playwrightProperties.getBrowserPool().getBrowsersPerDriver());
+        factory.setContextsPerBrowser(playwrightProperties.getBrowserPool().getContextsPerBrowser());
+        factory.setDriverQueueCapacity(playwrightProperties.getBrowserPool().getDriverQueueCapacity());
+        factory.setContextRetirement(playwrightProperties.getBrowserPool().toContextRetirement());
+        factory.setBrowserRetirement(playwrightProperties.getBrowserPool().toBrowserRetirement());
+        factory.setResetStrategy(playwrightProperties.getBrowserPool().getResetStrategy());
+        contextCustomizers.orderedStream().forEach(factory::addCustomizer);
 
         Runtime.getRuntime().addShutdownHook(new PlaywrightHook(factory, 0));
 
         // 2、创建 GenericObjectPoolConfig 对象，并进行必要的配置
         GenericObjectPoolConfig<BrowserContext> poolConfig = playwrightProperties.getBrowserPool().toPoolConfig();
-        poolConfig.setJmxEnabled(Boolean.FALSE);
         poolConfig.setJmxNameBase(JmxBeanUtils.getObjectName(BrowserContextPool.class));
 
         // 3、创建 BrowserContextPool 对象
         BrowserContextPool browserContextPool = new BrowserContextPool(factory, poolConfig);
+        browserContextPool.setCreationConcurrency(playwrightProperties.getBrowserPool().getCreationConcurrency());
+        return browserContextPool;
+    }
 
-        // 4、创建 PlaywrightInstall 实例
-       //PlaywrightInstall installer =  new PlaywrightInstall(browserContextPool, playwrightProperties);
-        // 5、调用 run 方法开始安装
-        //installer.run();
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "browser-pool.prewarm", havingValue = "true", matchIfMissing = true)
+    public PlaywrightInstall playwrightInstall(PlaywrightProperties playwrightProperties, BrowserContextPool browserContextPool){
 
-        return browserContextPool;
+        // 1、创建 PlaywrightInstall 实例
+        PlaywrightInstall installer =  new PlaywrightInstall(browserContextPool, playwrightProperties);
+        // 2、在后台线程中开始安装并预热，不阻塞容器刷新
+        installer.start();
+
+        return installer;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "resource-blocking.enabled", havingValue = "true")
+    public ResourceBlocker resourceBlocker(PlaywrightProperties playwrightProperties){
+        return new ResourceBlocker(playwrightProperties.getResourceBlocking(), playwrightProperties.getBrowserType());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "har-replay.enabled", havingValue = "true")
+    public HarReplayer harReplayer(PlaywrightProperties playwrightProperties){
+        // 录制时每个上下文关闭时都会写入 HAR 文件，相互覆盖
+        if (playwrightProperties.getHarReplay().isUpdate() && playwrightProperties.getBrowserPool().getMaxTotal() != 1) {
+            log.warn("HAR update mode with browser-pool.max-total {}, contexts overwrite each other's recordings.",
+                    playwrightProperties.getBrowserPool().getMaxTotal());
+        }
+        return new HarReplayer(playwrightProperties.getHarReplay());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PageRenderer pageRenderer(PlaywrightProperties playwrightProperties, BrowserContextPool browserContextPool,
+                                     ObjectProvider<RenderObserver> renderObserver){
+        return new PageRenderer(browserContextPool, playwrightProperties.getPageNavigateOptions(),
+                playwrightProperties.getPageScreenshotOptions().toOptions(), playwrightProperties.getPagePdfOptions().toOptions(),
+                CompositeRenderObserver.of(renderObserver.orderedStream().collect(Collectors.toList())));
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public PlaywrightTemplate playwrightTemplate(PlaywrightProperties playwrightProperties, PageRenderer pageRenderer,
+                                                 ObjectProvider<RenderCache> renderCache){
+        PlaywrightTemplate template = new PlaywrightTemplate(pageRenderer, playwrightProperties);
+        template.setRenderCache(renderCache.getIfAvailable(() -> RenderCache.NONE));
+        if (playwrightProperties.isCoalesceRenders()) {
+            template.setRenderCoalescer(new RenderCoalescer());
+        }
+        return template;
+    }
+
+    @Bean(name = "browserPagePool")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "page-pool.enabled", havingValue = "true")
+    public BrowserPagePool browserPagePool(PlaywrightProperties playwrightProperties, BrowserContextPool browserContextPool){
+
+        // 1、创建 BrowserPagePooledObjectFactory 对象，页面创建在池化的浏览器上下文中
+        BrowserPagePooledObjectFactory factory = new BrowserPagePooledObjectFactory(browserContextPool);
+
+        // 2、创建 GenericObjectPoolConfig 对象，并进行必要的配置
+        GenericObjectPoolConfig<Page> poolConfig = playwrightProperties.getPagePool().toPoolConfig();
+        poolConfig.setJmxNameBase(JmxBeanUtils.getObjectName(BrowserPagePool.class));
+
+        // 3、创建 BrowserPagePool 对象
+        return new BrowserPagePool(factory, poolConfig);
+    }
 
 }
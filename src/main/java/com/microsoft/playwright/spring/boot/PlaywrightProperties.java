@@ -15,8 +15,13 @@
  */
 package com.microsoft.playwright.spring.boot;
 
+import com.microsoft.playwright.spring.boot.blocking.ResourceBlockingConfig;
+import com.microsoft.playwright.spring.boot.cache.RenderCacheConfig;
+import com.microsoft.playwright.spring.boot.cache.StaticAssetCacheConfig;
+import com.microsoft.playwright.spring.boot.har.HarReplayConfig;
 import com.microsoft.playwright.spring.boot.options.*;
 import com.microsoft.playwright.spring.boot.pool.BrowserContextPoolConfig;
+import com.microsoft.playwright.spring.boot.pool.BrowserPagePoolConfig;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -38,10 +43,38 @@ public class PlaywrightProperties {
 	 * Browser mode. Defaults to {@link BrowserMode#incognito incognito}.
 	 */
 	public BrowserMode browserMode = BrowserMode.incognito;
+	/**
+	 * 在虚拟线程上执行渲染（PlaywrightTemplate 的异步与批量接口、响应式接口），仅在 Java 21+ 上生效，低版本时回退为平台线程
+	 */
+	private boolean virtualThreads = false;
+	/**
+	 * 合并参数完全相同的并发渲染（PlaywrightTemplate 的截图、PDF、HTML），只借出一个上下文执行，所有请求共享结果
+	 */
+	private boolean coalesceRenders = true;
 	/**
 	 * Browser Pool Config
 	 */
 	private BrowserContextPoolConfig browserPool = new BrowserContextPoolConfig();
+	/**
+	 * Page Pool Config
+	 */
+	private BrowserPagePoolConfig pagePool = new BrowserPagePoolConfig();
+	/**
+	 * Render Cache Config
+	 */
+	private RenderCacheConfig renderCache = new RenderCacheConfig();
+	/**
+	 * Static Asset Cache Config
+	 */
+	private StaticAssetCacheConfig assetCache = new StaticAssetCacheConfig();
+	/**
+	 * Resource Blocking Config
+	 */
+	private ResourceBlockingConfig resourceBlocking = new ResourceBlockingConfig();
+	/**
+	 * HAR Replay Config
+	 */
+	private HarReplayConfig harReplay = new HarReplayConfig();
 	/**
 	 * Connect Options
 	 */
@@ -70,6 +103,14 @@ public class PlaywrightProperties {
 	 * Page Set Content Options
 	 */
 	private ElementScreenshotOptions elementScreenshotOptions = new ElementScreenshotOptions();
+	/**
+	 * Page Pdf Options
+	 */
+	private PagePdfOptions pagePdfOptions = new PagePdfOptions();
+	/**
+	 * Page Emulate Media Options
+	 */
+	private PageEmulateMediaOptions pageEmulateMediaOptions = new PageEmulateMediaOptions();
 
 	public enum BrowserType {
 		chromium,
@@ -86,7 +127,11 @@ public class PlaywrightProperties {
 		/**
 		 * Returns the persistent browser context instance.
 		 */
-		persistent
+		persistent,
+		/**
+		 * Returns the browser context instance of a remote browser connected by websocket endpoint.
+		 */
+		remote
 	}
 
 }
@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.microsoft.playwright.spring.boot;
+
+import com.microsoft.playwright.ElementHandle;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.spring.boot.cache.RenderCache;
+import com.microsoft.playwright.spring.boot.cache.RenderCacheKey;
+import com.microsoft.playwright.spring.boot.cache.RenderCoalescer;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.options.*;
+import com.microsoft.playwright.spring.boot.render.BatchSummary;
+import com.microsoft.playwright.spring.boot.render.PageRenderer;
+import com.microsoft.playwright.spring.boot.render.RenderJob;
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import com.microsoft.playwright.spring.boot.render.RenderResult;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 常用渲染操作的模板：默认参数取自 {@link PlaywrightProperties} 中的 page-navigate-options、page-screenshot-options、
+ * element-screenshot-options、page-pdf-options 与 page-emulate-media-options，每次调用都可以传入参数覆盖默认值（为空时使用默认值）。
+ * 上下文的借出、页面的打开与关闭、上下文的归还均由 {@link PageRenderer} 完成，页面总是在上下文归还之前关闭，
+ * 导航与输出在驱动线程上一次提交完成。设置了 {@link RenderCache} 时，截图、PDF 与 HTML 的结果按地址与参数指纹缓存，
+ * {@link #execute(String, PageNavigateOptions, Function)} 的自定义操作不缓存；设置了 {@link RenderCoalescer} 时，
+ * 参数完全相同的并发请求共享同一次渲染。
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@Slf4j
+public class PlaywrightTemplate {
+
+    /**
+     * Playwright 操作的默认超时时间
+     */
+    private static final double DEFAULT_TIMEOUT_MILLIS = 30 * 1000.0;
+
+    private final PageRenderer pageRenderer;
+    private final PlaywrightProperties playwrightProperties;
+    private final PageNavigateOptions navigateOptions;
+    private final Page.ScreenshotOptions screenshotOptions;
+    private final ElementHandle.ScreenshotOptions elementScreenshotOptions;
+    private final Page.PdfOptions pdfOptions;
+    private final Page.EmulateMediaOptions emulateMediaOptions;
+    /**
+     * 是否在虚拟线程上执行渲染
+     */
+    private final boolean virtualThreads;
+    /**
+     * 异步渲染的执行器：虚拟线程模式下每个任务一个虚拟线程，否则为线程数等于上下文池容量的平台线程池
+     */
+    private final ExecutorService renderExecutor;
+    /**
+     * 浏览器类型、模式与上下文参数的指纹，参与每个缓存键的计算
+     */
+    private final String contextFingerprint;
+    private RenderCache renderCache = RenderCache.NONE;
+    private RenderCoalescer renderCoalescer;
+
+    public PlaywrightTemplate(PageRenderer pageRenderer, PlaywrightProperties playwrightProperties) {
+        this.pageRenderer = pageRenderer;
+        this.playwrightProperties = playwrightProperties;
+        this.navigateOptions = playwrightProperties.getPageNavigateOptions();
+        // 默认参数只转换一次
+        this.screenshotOptions = playwrightProperties.getPageScreenshotOptions().toOptions();
+        this.elementScreenshotOptions = playwrightProperties.getElementScreenshotOptions().toOptions();
+        this.pdfOptions = playwrightProperties.getPagePdfOptions().toOptions();
+        this.emulateMediaOptions = toEmulateMedia(playwrightProperties.getPageEmulateMediaOptions());
+        this.virtualThreads = playwrightProperties.isVirtualThreads() && isVirtualThreadSupported(playwrightProperties);
+        if (virtualThreads) {
+            this.renderExecutor = ThreadUtils.newVirtualThreadPerTaskExecutor("playwright-render");
+        } else {
+            int concurrency = getDefaultConcurrency();
+            this.renderExecutor = ThreadUtils.newThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), "playwright-render", true);
+        }
+        this.contextFingerprint = RenderCacheKey.fingerprint(playwrightProperties.getBrowserType(),
+                playwrightProperties.getBrowserMode(), playwrightProperties.getNewContextOptions());
+    }
+
+    private static boolean isVirtualThreadSupported(PlaywrightProperties playwrightProperties) {
+        if (!ThreadUtils.isVirtualThreadSupported()) {
+            log.warn("Virtual threads require Java 21 or later (running on {}), renders use platform threads.", System.getProperty("java.version"));
+            return false;
+        }
+        if (playwrightProperties.getBrowserPool().getCreationConcurrency() <= 0) {
+            // commons-pool 在借出线程上创建对象时在对象监视器上等待，虚拟线程会占住载体线程
+            log.warn("Virtual threads are enabled but browser-pool.creation-concurrency is {}, borrowers that create contexts will pin carrier threads.",
+                    playwrightProperties.getBrowserPool().getCreationConcurrency());
+        }
+        log.info("Playwright renders run on virtual threads.");
+        return true;
+    }
+
+    public PageRenderer getPageRenderer() {
+        return pageRenderer;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ExecutorService getRenderExecutor() {
+        return renderExecutor;
+    }
+
+    public RenderCache getRenderCache() {
+        return renderCache;
+    }
+
+    public void setRenderCache(RenderCache renderCache) {
+        this.renderCache = Objects.nonNull(renderCache) ? renderCache : RenderCache.NONE;
+    }
+
+    public RenderCoalescer getRenderCoalescer() {
+        return renderCoalescer;
+    }
+
+    /**
+     * @param renderCoalescer 为空时不合并
+     */
+    public void setRenderCoalescer(RenderCoalescer renderCoalescer) {
+        this.renderCoalescer = renderCoalescer;
+    }
+
+    /**
+     * 页面截图
+     * @param url 目标地址
+     * @return 图片内容
+     */
+    public byte[] screenshot(String url) {
+        return screenshot(url, null, null, null);
+    }
+
+    public byte[] screenshot(String url, PageScreenshotOptions screenshotOptions) {
+        return screenshot(url, null, screenshotOptions, null);
+    }
+
+    public byte[] screenshot(String url, PageNavigateOptions navigateOptions, PageScreenshotOptions screenshotOptions,
+                             PageEmulateMediaOptions emulateMediaOptions) {
+        Page.ScreenshotOptions options = Objects.nonNull(screenshotOptions) ? screenshotOptions.toOptions() : this.screenshotOptions;
+        PageScreenshotOptions keyOptions = Objects.nonNull(screenshotOptions) ? screenshotOptions : playwrightProperties.getPageScreenshotOptions();
+        String key = isCacheable(keyOptions.getPath(), keyOptions.getMask())
+                ? cacheKey(RenderPhase.screenshot, url, navigateOptions, emulateMediaOptions, keyOptions) : null;
+        return cached(key, RenderPhase.screenshot, navigateOptions, options.timeout,
+                () -> render(url, navigateOptions, emulateMediaOptions, RenderPhase.screenshot, page -> page.screenshot(options)));
+    }
+
+    /**
+     * 页面中元素的截图，等待 selector 匹配的元素可见后截取
+     * @param url 目标地址
+     * @param selector 元素选择器
+     * @return 图片内容
+     */
+    public byte[] elementScreenshot(String url, String selector) {
+        return elementScreenshot(url, selector, null, null, null);
+    }
+
+    public byte[] elementScreenshot(String url, String selector, ElementScreenshotOptions screenshotOptions) {
+        return elementScreenshot(url, selector, null, screenshotOptions, null);
+    }
+
+    public byte[] elementScreenshot(String url, String selector, PageNavigateOptions navigateOptions,
+                                    ElementScreenshotOptions screenshotOptions, PageEmulateMediaOptions emulateMediaOptions) {
+        ElementHandle.ScreenshotOptions options = Objects.nonNull(screenshotOptions) ? screenshotOptions.toOptions() : this.elementScreenshotOptions;
+        Page.WaitForSelectorOptions waitOptions = new Page.WaitForSelectorOptions();
+        if (Objects.nonNull(options.timeout)) {
+            waitOptions.setTimeout(options.timeout);
+        }
+        ElementScreenshotOptions keyOptions = Objects.nonNull(screenshotOptions) ? screenshotOptions : playwrightProperties.getElementScreenshotOptions();
+        String key = isCacheable(keyOptions.getPath(), keyOptions.getMask())
+                ? cacheKey(RenderPhase.screenshot, url, navigateOptions, emulateMediaOptions, selector, keyOptions) : null;
+        // 等待元素与截图各自使用 timeout
+        Double timeout = Objects.nonNull(options.timeout) ? options.timeout * 2 : null;
+        return cached(key, RenderPhase.screenshot, navigateOptions, timeout, () -> render(url, navigateOptions, emulateMediaOptions, RenderPhase.screenshot, page -> {
+            ElementHandle element = page.waitForSelector(selector, waitOptions);
+            if (Objects.isNull(element)) {
+                throw new PlaywrightException("Element '" + selector + "' not found in " + url);
+            }
+            return element.screenshot(options);
+        }));
+    }
+
+    /**
+     * 页面生成 PDF，只有 Chromium 支持
+     * @param url 目标地址
+     * @return PDF 内容
+     */
+    public byte[] pdf(String url) {
+        return pdf(url, null, null, null);
+    }
+
+    public byte[] pdf(String url, PagePdfOptions pdfOptions) {
+        return pdf(url, null, pdfOptions, null);
+    }
+
+    public byte[] pdf(String url, PageNavigateOptions navigateOptions, PagePdfOptions pdfOptions,
+                      PageEmulateMediaOptions emulateMediaOptions) {
+        Page.PdfOptions options = Objects.nonNull(pdfOptions) ? pdfOptions.toOptions() : this.pdfOptions;
+        PagePdfOptions keyOptions = Objects.nonNull(pdfOptions) ? pdfOptions : playwrightProperties.getPagePdfOptions();
+        String key = isCacheable(keyOptions.getPath(), null)
+                ? cacheKey(RenderPhase.pdf, url, navigateOptions, emulateMediaOptions, keyOptions) : null;
+        return cached(key, RenderPhase.pdf, navigateOptions, null,
+                () -> render(url, navigateOptions, emulateMediaOptions, RenderPhase.pdf, page -> page.pdf(options)));
+    }
+
+    /**
+     * 页面加载完成后的 HTML
+     * @param url 目标地址
+     * @return 页面 HTML
+     */
+    public String content(String url) {
+        return content(url, null);
+    }
+
+    public String content(String url, PageNavigateOptions navigateOptions) {
+        return cached(cacheKey(RenderPhase.content, url, navigateOptions, null),
+                RenderPhase.content, navigateOptions, null, () -> render(url, navigateOptions, null, RenderPhase.content, Page::content));
+    }
+
+    /**
+     * 导航到 url 后在驱动线程上执行自定义操作，页面在操作完成后关闭，不要在操作之外持有页面
+     * @param url 目标地址
+     * @param navigateOptions 导航参数，为空时使用默认值
+     * @param action 使用页面的操作
+     * @return 操作结果
+     */
+    public <T> T execute(String url, PageNavigateOptions navigateOptions, Function<Page, T> action) {
+        return render(url, navigateOptions, null, RenderPhase.action, action);
+    }
+
+    /**
+     * 异步执行渲染任务。虚拟线程模式下每个任务一个虚拟线程，等待上下文与浏览器时只挂起虚拟线程，可以容纳大量排队的请求；
+     * 否则任务在线程数等于上下文池容量的线程池中排队
+     * @param job 渲染任务
+     * @return 渲染结果
+     */
+    public <T> CompletableFuture<T> submit(RenderJob<T> job) {
+        return CompletableFuture.supplyAsync(() -> job.render(this), renderExecutor);
+    }
+
+    /**
+     * 批量渲染，并发数取上下文池的 maxTotal，参见 {@link #batch(Iterator, int, Consumer)}
+     */
+    public <T> BatchSummary batch(Stream<? extends RenderJob<T>> jobs, Consumer<? super RenderResult<T>> sink) {
+        try (Stream<? extends RenderJob<T>> stream = jobs) {
+            return batch(stream.iterator(), getDefaultConcurrency(), sink);
+        }
+    }
+
+    public <T> BatchSummary batch(Iterator<? extends RenderJob<T>> jobs, Consumer<? super RenderResult<T>> sink) {
+        return batch(jobs, getDefaultConcurrency(), sink);
+    }
+
+    /**
+     * 批量渲染：任务按需从 jobs 中取出，同时执行的任务不超过 concurrency 个，每个任务完成后立即把结果交给 sink，
+     * 因此内存中只保留正在执行的任务，慢任务也不会阻塞其他结果的输出。sink 按完成顺序被串行调用（不会并发调用），
+     * 其抛出的异常只记录日志。调用线程会阻塞直到所有已提交的任务完成；调用线程被中断或执行器拒绝任务时不再提交新任务。
+     * @param jobs 渲染任务，可以是惰性生成的迭代器
+     * @param concurrency 最大并发数，超过上下文池 maxTotal 只会增加借出等待
+     * @param sink 结果接收方
+     * @return 汇总
+     */
+    public <T> BatchSummary batch(Iterator<? extends RenderJob<T>> jobs, int concurrency, Consumer<? super RenderResult<T>> sink) {
+        int permits = Math.max(1, concurrency);
+        Semaphore inFlight = new Semaphore(permits);
+        // 虚拟线程模式下共用每任务一个虚拟线程的执行器，并发由 inFlight 限制
+        ExecutorService executor = virtualThreads ? renderExecutor : ThreadUtils.newThreadPoolExecutor(permits, permits,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), "playwright-batch", true);
+        Lock sinkLock = new ReentrantLock();
+        AtomicLong succeeded = new AtomicLong(0);
+        AtomicLong failed = new AtomicLong(0);
+        long submitted = 0;
+        boolean cancelled = false;
+        long start = System.nanoTime();
+        try {
+            while (jobs.hasNext()) {
+                // 1、等待空闲名额后再取下一个任务
+                inFlight.acquire();
+                RenderJob<T> job;
+                try {
+                    job = jobs.next();
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                submitted++;
+                // 2、在批量工作线程上执行，完成后立即输出结果并释放名额
+                Runnable task = () -> {
+                    long begin = System.nanoTime();
+                    try {
+                        RenderResult<T> result;
+                        try {
+                            result = RenderResult.success(job, job.render(this), System.nanoTime() - begin);
+                            succeeded.incrementAndGet();
+                        } catch (Exception e) {
+                            result = RenderResult.failure(job, e, System.nanoTime() - begin);
+                            failed.incrementAndGet();
+                        }
+                        sinkLock.lock();
+                        try {
+                            sink.accept(result);
+                        } finally {
+                            sinkLock.unlock();
+                        }
+                    } catch (Exception e) {
+                        log.error("Batch render sink error, job : {}", job, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                };
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    // 执行器已关闭（如应用停止时 close() 之后），不再提交新任务
+                    inFlight.release();
+                    submitted--;
+                    cancelled = true;
+                    log.warn("Batch render executor rejected job, stop submitting : {}", job);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            // 3、等待已提交的任务全部完成
+            inFlight.acquireUninterruptibly(permits);
+            if (executor != renderExecutor) {
+                executor.shutdown();
+            }
+        }
+        BatchSummary summary = new BatchSummary(submitted, succeeded.get(), failed.get(), cancelled,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Batch render finished : {}", summary);
+        return summary;
+    }
+
+    public void close() {
+        renderExecutor.shutdown();
+    }
+
+    private int getDefaultConcurrency() {
+        int maxTotal = pageRenderer.getBrowserContextPool().getMaxTotal();
+        return maxTotal > 0 ? maxTotal : Runtime.getRuntime().availableProcessors();
+    }
+
+    private <T> T render(String url, PageNavigateOptions navigateOptions, PageEmulateMediaOptions emulateMediaOptions,
+                         RenderPhase phase, Function<Page, T> capture) {
+        return pageRenderer.render(url,
+                Objects.nonNull(navigateOptions) ? navigateOptions : this.navigateOptions,
+                Objects.nonNull(emulateMediaOptions) ? toEmulateMedia(emulateMediaOptions) : this.emulateMediaOptions,
+                phase, capture);
+    }
+
+    /**
+     * 写入文件（path）的输出要求每次都执行；mask 引用的是某个页面上的 Locator，无法作为缓存键
+     */
+    private static boolean isCacheable(Path path, List<?> mask) {
+        return Objects.isNull(path) && (Objects.isNull(mask) || mask.isEmpty());
+    }
+
+    /**
+     * 缓存与合并的键，参数为空时取默认值参与计算，使显式传入默认值与不传得到相同的键；两者都未设置时返回 null
+     */
+    private String cacheKey(RenderPhase phase, String url, PageNavigateOptions navigateOptions,
+                            PageEmulateMediaOptions emulateMediaOptions, Object... captureOptions) {
+        if (renderCache == RenderCache.NONE && Objects.isNull(renderCoalescer)) {
+            return null;
+        }
+        Object[] parts = new Object[captureOptions.length + 3];
+        parts[0] = contextFingerprint;
+        parts[1] = Objects.nonNull(navigateOptions) ? navigateOptions : this.navigateOptions;
+        parts[2] = Objects.nonNull(emulateMediaOptions) ? emulateMediaOptions : playwrightProperties.getPageEmulateMediaOptions();
+        System.arraycopy(captureOptions, 0, parts, 3, captureOptions.length);
+        return RenderCacheKey.of(phase, url, parts);
+    }
+
+    /**
+     * 先合并相同的并发请求，再查询缓存，被合并的请求不会重复计入缓存的命中与未命中
+     * @param captureTimeout 截图等输出操作的超时时间（毫秒），为空时按 Playwright 默认的 30 秒计算
+     */
+    private <T> T cached(String key, RenderPhase phase, PageNavigateOptions navigateOptions, Double captureTimeout, Supplier<T> loader) {
+        if (Objects.isNull(key)) {
+            return loader.get();
+        }
+        Supplier<T> cacheLoader = () -> renderCache.get(key, phase, loader);
+        if (Objects.isNull(renderCoalescer)) {
+            return cacheLoader.get();
+        }
+        return renderCoalescer.execute(key, coalescedTimeout(navigateOptions, captureTimeout), cacheLoader);
+    }
+
+    /**
+     * 被合并的请求最多等待自己执行渲染时的时长：借出等待、导航与输出的超时之和；任一项不限时则不限制
+     */
+    private Duration coalescedTimeout(PageNavigateOptions navigateOptions, Double captureTimeout) {
+        Duration maxWait = pageRenderer.getBrowserContextPool().getMaxWaitDuration();
+        Double navigateTimeout = (Objects.nonNull(navigateOptions) ? navigateOptions : this.navigateOptions).getTimeout();
+        double capture = Objects.nonNull(captureTimeout) ? captureTimeout : DEFAULT_TIMEOUT_MILLIS;
+        if (maxWait.isNegative() || Objects.isNull(navigateTimeout) || navigateTimeout <= 0 || capture <= 0) {
+            return null;
+        }
+        return maxWait.plusMillis((long) (navigateTimeout + capture));
+    }
+
+    /**
+     * 未设置任何媒体特性时不做模拟，省去一次驱动调用
+     */
+    private static Page.EmulateMediaOptions toEmulateMedia(PageEmulateMediaOptions options) {
+        if (Objects.isNull(options) || (Objects.isNull(options.getColorScheme()) && Objects.isNull(options.getForcedColors())
+                && Objects.isNull(options.getMedia()) && Objects.isNull(options.getReducedMotion()))) {
+            return null;
+        }
+        return options.toOptions();
+    }
+
+}
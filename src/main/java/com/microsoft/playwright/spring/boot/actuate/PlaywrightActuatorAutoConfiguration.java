@@ -0,0 +1,46 @@
+package com.microsoft.playwright.spring.boot.actuate;
+
+import com.microsoft.playwright.spring.boot.PlaywrightAutoConfiguration;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 类路径存在 Spring Boot Actuator 时注册 Playwright 健康检查与 {@code playwright} 端点
+ */
+@Configuration
+@AutoConfigureAfter(PlaywrightAutoConfiguration.class)
+@ConditionalOnClass({ HealthIndicator.class, ConditionalOnEnabledHealthIndicator.class })
+@ConditionalOnBean(BrowserContextPool.class)
+public class PlaywrightActuatorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = "playwrightHealthIndicator")
+    @ConditionalOnEnabledHealthIndicator("playwright")
+    public PlaywrightHealthIndicator playwrightHealthIndicator(PlaywrightProperties playwrightProperties, BrowserContextPool browserContextPool){
+
+        // 1、创建健康检查，借出等待超过阈值时为 DOWN
+        PlaywrightHealthIndicator healthIndicator = new PlaywrightHealthIndicator(browserContextPool,
+                playwrightProperties.getBrowserPool().getHealthBorrowWaitThreshold());
+        // 2、监听借出事件以统计借出等待时间
+        browserContextPool.addListener(healthIndicator);
+
+        return healthIndicator;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint
+    public PlaywrightEndpoint playwrightEndpoint(BrowserContextPool browserContextPool){
+        return new PlaywrightEndpoint(browserContextPool);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.microsoft.playwright.spring.boot.actuate;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.pool.*;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@code playwright} 端点：查看池中的驱动、浏览器与上下文，并支持驱逐上下文、重启浏览器。
+ * <ul>
+ * <li>GET /actuator/playwright：列出池状态</li>
+ * <li>DELETE /actuator/playwright/contexts/{id}：驱逐上下文</li>
+ * <li>DELETE /actuator/playwright/browsers/{id}：重启浏览器，其上下文逐个退役后关闭并由新浏览器接替</li>
+ * </ul>
+ */
+@Slf4j
+@Endpoint(id = "playwright")
+public class PlaywrightEndpoint {
+
+    private static final String CONTEXTS = "contexts";
+    private static final String BROWSERS = "browsers";
+    /**
+     * 查询页面数量时等待驱动线程的最长时间，驱动繁忙时返回 -1
+     */
+    private static final long QUERY_TIMEOUT_MILLIS = 1000L;
+
+    private final BrowserContextPool pool;
+
+    public PlaywrightEndpoint(BrowserContextPool pool) {
+        this.pool = pool;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pool() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("active", pool.getNumActive());
+        result.put("idle", pool.getNumIdle());
+        result.put("waiting", pool.getNumWaiters());
+        result.put("maxTotal", pool.getMaxTotal());
+        result.put("created", pool.getCreatedCount());
+        result.put("destroyed", pool.getDestroyedCount());
+        BrowserContextPooledObjectFactory factory = getFactory();
+        if (Objects.isNull(factory)) {
+            return result;
+        }
+        long now = System.currentTimeMillis();
+        result.put("drivers", factory.getDrivers().stream().map(driver -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", driver.getId());
+            item.put("queueSize", driver.getQueueSize());
+            item.put(BROWSERS, driver.getBrowsers().stream().map(browser -> describe(factory, browser, now)).collect(Collectors.toList()));
+            return item;
+        }).collect(Collectors.toList()));
+        result.put(CONTEXTS, factory.getContextInfos().stream()
+                .sorted(Comparator.comparingLong(BrowserContextInfo::getId))
+                .map(info -> describe(factory, info, now))
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    /**
+     * 驱逐上下文或重启浏览器
+     * @param type contexts 或 browsers
+     * @param id 上下文或浏览器编号
+     */
+    @DeleteOperation
+    public Map<String, Object> evict(@Selector String type, @Selector long id) throws Exception {
+        BrowserContextPooledObjectFactory factory = getFactory();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("type", type);
+        result.put("id", id);
+        boolean found = false;
+        if (Objects.nonNull(factory) && CONTEXTS.equals(type)) {
+            BrowserContextInfo info = factory.findContextInfo(id);
+            if (Objects.nonNull(info)) {
+                info.evict();
+                found = true;
+                log.info("Evict BrowserContext '{}' by actuator.", id);
+            }
+        } else if (Objects.nonNull(factory) && BROWSERS.equals(type) && id <= Integer.MAX_VALUE) {
+            PlaywrightBrowser browser = factory.findBrowser((int) id);
+            if (Objects.nonNull(browser)) {
+                browser.retire();
+                found = true;
+                log.info("Restart {} by actuator.", browser);
+            }
+        }
+        if (found) {
+            // 开启 test-while-idle 时空闲的上下文在本次驱逐检测中销毁，否则在下次借出时销毁；使用中的在归还时销毁
+            pool.evict();
+        }
+        result.put("found", found);
+        return result;
+    }
+
+    private Map<String, Object> describe(BrowserContextPooledObjectFactory factory, PlaywrightBrowser browser, long now) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", browser.getId());
+        item.put("ageMillis", now - browser.getCreatedAt());
+        item.put("contexts", browser.getContextCount());
+        item.put("served", browser.getServedCount());
+        item.put("launching", browser.isLaunching());
+        item.put("connected", browser.isConnected());
+        item.put("retired", browser.isRetired());
+        item.put("pid", factory.getBrowserProcessId(browser));
+        if (Objects.nonNull(browser.getEndpoint())) {
+            item.put("endpoint", browser.getEndpoint().getWsEndpoint());
+        }
+        return item;
+    }
+
+    private Map<String, Object> describe(BrowserContextPooledObjectFactory factory, BrowserContextInfo info, long now) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", info.getId());
+        item.put("ageMillis", now - info.getCreatedAt());
+        item.put("uses", info.getUses());
+        item.put("pages", countPages(info));
+        item.put("retired", info.isRetired());
+        item.put("driver", info.getDriver().getId());
+        item.put("browser", info.getBrowser().getId());
+        item.put("pid", factory.getBrowserProcessId(info.getBrowser()));
+        if (Objects.nonNull(info.getUserDataDir())) {
+            item.put("userDataDir", info.getUserDataDir().getAbsolutePath());
+        }
+        return item;
+    }
+
+    private int countPages(BrowserContextInfo info) {
+        BrowserContext browserContext = info.getBrowserContext();
+        try {
+            return info.getDriver().submit(() -> browserContext.pages().size()).get(QUERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private BrowserContextPooledObjectFactory getFactory() {
+        PooledObjectFactory<BrowserContext> factory = pool.getFactory();
+        return factory instanceof BrowserContextPooledObjectFactory ? (BrowserContextPooledObjectFactory) factory : null;
+    }
+
+}
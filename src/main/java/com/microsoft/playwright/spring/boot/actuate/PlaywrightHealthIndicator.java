@@ -0,0 +1,105 @@
+package com.microsoft.playwright.spring.boot.actuate;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPoolListener;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPooledObjectFactory;
+import com.microsoft.playwright.spring.boot.pool.BrowserEndpoint;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 浏览器上下文池健康检查：池已关闭、存在断开连接的浏览器、远程端点全部不可用或近期借出等待时间超过阈值时为 DOWN
+ */
+public class PlaywrightHealthIndicator extends AbstractHealthIndicator implements BrowserContextPoolListener {
+
+    /**
+     * 借出等待时间指数移动平均的平滑系数
+     */
+    private static final double ALPHA = 0.2D;
+    /**
+     * 借出等待时间的半衰期：没有新的借出时平均值随时间衰减，流量停止后健康状态能够自行恢复
+     */
+    private static final long HALF_LIFE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final BrowserContextPool pool;
+    private final Duration borrowWaitThreshold;
+    private double borrowWaitNanos = 0D;
+    private long borrowWaitUpdatedAt = System.nanoTime();
+
+    public PlaywrightHealthIndicator(BrowserContextPool pool, Duration borrowWaitThreshold) {
+        super("Playwright health check failed");
+        this.pool = pool;
+        this.borrowWaitThreshold = borrowWaitThreshold;
+    }
+
+    @Override
+    public void onBorrow(BrowserContext browserContext, long waitNanos) {
+        recordBorrowWait(waitNanos);
+    }
+
+    @Override
+    public void onBorrowFailure(Throwable cause, long waitNanos) {
+        recordBorrowWait(waitNanos);
+    }
+
+    private synchronized void recordBorrowWait(long waitNanos) {
+        long now = System.nanoTime();
+        double decayed = decay(now);
+        borrowWaitNanos = decayed + ALPHA * (waitNanos - decayed);
+        borrowWaitUpdatedAt = now;
+    }
+
+    private synchronized long getBorrowWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis((long) decay(System.nanoTime()));
+    }
+
+    /**
+     * 按距上次更新经过的时间衰减借出等待时间
+     */
+    private double decay(long now) {
+        long elapsed = Math.max(0L, now - borrowWaitUpdatedAt);
+        return borrowWaitNanos * Math.pow(0.5D, (double) elapsed / HALF_LIFE_NANOS);
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        long borrowWaitMillis = getBorrowWaitMillis();
+        builder.withDetail("active", pool.getNumActive())
+                .withDetail("idle", pool.getNumIdle())
+                .withDetail("waiting", pool.getNumWaiters())
+                .withDetail("maxTotal", pool.getMaxTotal())
+                .withDetail("borrowWaitMillis", borrowWaitMillis);
+        boolean healthy = !pool.isClosed();
+        if (borrowWaitThreshold != null && borrowWaitMillis > borrowWaitThreshold.toMillis()) {
+            builder.withDetail("borrowWaitThreshold", borrowWaitThreshold.toString());
+            healthy = false;
+        }
+        PooledObjectFactory<BrowserContext> factory = pool.getFactory();
+        if (factory instanceof BrowserContextPooledObjectFactory) {
+            BrowserContextPooledObjectFactory browserFactory = (BrowserContextPooledObjectFactory) factory;
+            long disconnected = browserFactory.getDrivers().stream()
+                    .flatMap(driver -> driver.getBrowsers().stream())
+                    .filter(browser -> !browser.isLaunching() && !browser.isConnected())
+                    .count();
+            builder.withDetail("drivers", browserFactory.getDrivers().size())
+                    .withDetail("disconnectedBrowsers", disconnected);
+            healthy = healthy && disconnected == 0;
+            if (browserFactory.isRemote()) {
+                long available = browserFactory.getEndpoints().stream().filter(BrowserEndpoint::isAvailable).count();
+                builder.withDetail("availableEndpoints", available);
+                healthy = healthy && available > 0;
+            }
+        }
+        if (healthy) {
+            builder.up();
+        } else {
+            builder.down();
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.microsoft.playwright.spring.boot.blocking;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextCustomizer;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 在上下文创建时注册资源拦截规则，规则在上下文的整个生命周期内有效，归还重置不会清除。
+ * <ul>
+ * <li>Chromium 上只含 URL glob 的规则通过 CDP {@code Network.setBlockedURLs} 交给浏览器拦截，被拦截的请求不经过 Java 端；
+ * 浏览器的通配符只有 {@code *}，因此 glob 中的 {@code *} 与 {@code **} 等价，含有 {@code ? { } [ ]} 的 glob 改用路由；</li>
+ * <li>其他规则及其他浏览器通过 {@link BrowserContext#route} 拦截，注册时使用规则中的 glob 或正则表达式，
+ * 浏览器只暂停可能匹配的请求，按资源类型的规则需要检查所有请求；</li>
+ * <li>路由拦截总是放行页面的主文档导航；浏览器端拦截无法区分主文档，匹配页面地址的 glob 同样会拦截导航本身，
+ * 这类规则需要关闭 {@link ResourceBlockingConfig#isBrowserSide()} 或改为按资源类型限定。</li>
+ * </ul>
+ * 被拦截的资源不会下载，无法得知其大小，因此只按资源类型统计请求数。
+ */
+@Slf4j
+public class ResourceBlocker implements BrowserContextCustomizer {
+
+    static final String BLOCKED_BY_CLIENT = "net::ERR_BLOCKED_BY_CLIENT";
+
+    private static final Set<String> SECOND_LEVEL_DOMAINS = new HashSet<>(Arrays.asList("com", "net", "org", "gov", "edu", "co", "ac"));
+
+    /**
+     * 交给浏览器拦截的通配符，及 CDP 不可用时改用路由的原始 glob
+     */
+    private final List<String> browserPatterns = new ArrayList<>();
+    private final List<String> browserGlobs = new ArrayList<>();
+    private final List<ResourceBlockingRule> routeRules = new ArrayList<>();
+    private final List<List<Pattern>> routeRegex = new ArrayList<>();
+
+    private final LongAdder browserBlocked = new LongAdder();
+    private final LongAdder routeBlocked = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> blockedByType = new ConcurrentHashMap<>();
+    /**
+     * 由路由拦截的请求，浏览器直接拦截的请求与之有相同的失败原因，统计时需要排除
+     */
+    private final Set<Request> routeAborted = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final AtomicBoolean browserSideUnavailable = new AtomicBoolean(false);
+    /**
+     * 已改用路由拦截 browserGlobs 的上下文，每个上下文只注册一次
+     */
+    private final Set<BrowserContext> routedContexts = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    public ResourceBlocker(ResourceBlockingConfig config, PlaywrightProperties.BrowserType browserType) {
+        boolean browserSide = config.isBrowserSide() && browserType == PlaywrightProperties.BrowserType.chromium;
+        for (ResourceBlockingRule rule : config.toRules()) {
+            List<String> patterns = rule.getUrlPatterns().stream().map(ResourceBlocker::toBrowserPattern).collect(Collectors.toList());
+            if (browserSide && rule.isUrlPatternOnly() && !patterns.contains(null)) {
+                browserPatterns.addAll(patterns);
+                browserGlobs.addAll(rule.getUrlPatterns());
+            } else {
+                routeRules.add(rule);
+                routeRegex.add(rule.getUrlRegex().stream().map(Pattern::compile).collect(Collectors.toList()));
+            }
+        }
+        log.info("Resource blocking : {} browser-side url patterns, {} routed rules.", browserPatterns.size(), routeRules.size());
+    }
+
+    @Override
+    public void customize(BrowserContext browserContext, BrowserContextInfo info) {
+        // 1、浏览器端拦截：每个页面（包括持久化模式下已经打开的页面）各自设置
+        if (!browserPatterns.isEmpty()) {
+            if (browserSideUnavailable.get()) {
+                fallBackToRoutes(browserContext);
+            } else {
+                browserContext.onPage(page -> blockOnPage(browserContext, page));
+                browserContext.pages().forEach(page -> blockOnPage(browserContext, page));
+                browserContext.onRequestFailed(this::onRequestFailed);
+            }
+        }
+        // 2、路由拦截
+        for (int i = 0; i < routeRules.size(); i++) {
+            ResourceBlockingRule rule = routeRules.get(i);
+            List<Pattern> regex = routeRegex.get(i);
+            Consumer<Route> handler = route -> handle(route, rule, regex);
+            if (!rule.getUrlPatterns().isEmpty()) {
+                rule.getUrlPatterns().forEach(glob -> browserContext.route(glob, handler));
+            } else if (!regex.isEmpty()) {
+                regex.forEach(pattern -> browserContext.route(pattern, handler));
+            } else {
+                browserContext.route("**/*", handler);
+            }
+        }
+    }
+
+    /**
+     * 被拦截的请求总数
+     */
+    public long getBlockedRequests() {
+        return browserBlocked.sum() + routeBlocked.sum();
+    }
+
+    public long getBrowserBlockedRequests() {
+        return browserBlocked.sum();
+    }
+
+    public long getRouteBlockedRequests() {
+        return routeBlocked.sum();
+    }
+
+    /**
+     * 按资源类型统计的被拦截请求数
+     */
+    public Map<String, Long> getBlockedRequestsByType() {
+        Map<String, Long> counts = new TreeMap<>();
+        blockedByType.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    private void blockOnPage(BrowserContext browserContext, Page page) {
+        if (routedContexts.contains(browserContext)) {
+            return;
+        }
+        if (browserSideUnavailable.get()) {
+            // 其他上下文发现 CDP 不可用之前注册的页面监听，当前上下文同样改用路由
+            fallBackToRoutes(browserContext);
+            return;
+        }
+        try {
+            CDPSession session = browserContext.newCDPSession(page);
+            JsonArray urls = new JsonArray();
+            browserPatterns.forEach(urls::add);
+            JsonObject params = new JsonObject();
+            params.add("urls", urls);
+            session.send("Network.enable");
+            session.send("Network.setBlockedURLs", params);
+        } catch (RuntimeException e) {
+            // 如通过不支持 CDP 的方式连接远程浏览器，当前及之后创建的上下文改用路由
+            if (browserSideUnavailable.compareAndSet(false, true)) {
+                log.warn("Browser-side resource blocking is unavailable, fall back to routes.", e);
+            }
+            fallBackToRoutes(browserContext);
+        }
+    }
+
+    /**
+     * 上下文改用路由拦截原本交给浏览器的 glob，同一上下文只注册一次
+     */
+    private void fallBackToRoutes(BrowserContext browserContext) {
+        if (routedContexts.add(browserContext)) {
+            routeGlobs(browserContext, browserGlobs);
+        }
+    }
+
+    private void routeGlobs(BrowserContext browserContext, List<String> globs) {
+        ResourceBlockingRule rule = new ResourceBlockingRule();
+        Consumer<Route> handler = route -> handle(route, rule, Collections.emptyList());
+        globs.forEach(glob -> browserContext.route(glob, handler));
+    }
+
+    private void handle(Route route, ResourceBlockingRule rule, List<Pattern> regex) {
+        Request request = route.request();
+        if (matches(request, rule, regex)) {
+            routeAborted.add(request);
+            routeBlocked.increment();
+            count(request);
+            route.abort("blockedbyclient");
+        } else {
+            route.fallback();
+        }
+    }
+
+    private void onRequestFailed(Request request) {
+        if (BLOCKED_BY_CLIENT.equals(request.failure()) && !routeAborted.remove(request)) {
+            browserBlocked.increment();
+            count(request);
+        }
+    }
+
+    private void count(Request request) {
+        blockedByType.computeIfAbsent(request.resourceType(), type -> new LongAdder()).increment();
+    }
+
+    private static boolean matches(Request request, ResourceBlockingRule rule, List<Pattern> regex) {
+        if (isMainFrameNavigation(request)) {
+            return false;
+        }
+        if (!rule.getResourceTypes().isEmpty() && !rule.getResourceTypes().contains(request.resourceType())) {
+            return false;
+        }
+        // glob 已在注册路由时匹配
+        if (!regex.isEmpty() && regex.stream().noneMatch(pattern -> pattern.matcher(request.url()).find())) {
+            return false;
+        }
+        return !rule.isThirdPartyOnly() || isThirdParty(request);
+    }
+
+    private static boolean isMainFrameNavigation(Request request) {
+        if (!request.isNavigationRequest()) {
+            return false;
+        }
+        try {
+            return Objects.isNull(request.frame().parentFrame());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isThirdParty(Request request) {
+        String pageUrl;
+        try {
+            Frame frame = request.frame();
+            pageUrl = Objects.nonNull(frame.page()) ? frame.page().url() : frame.url();
+        } catch (RuntimeException e) {
+            // Service Worker 发起的请求没有所属页面
+            return false;
+        }
+        String site = site(pageUrl);
+        return Objects.nonNull(site) && !site.equals(site(request.url()));
+    }
+
+    /**
+     * 主域名的近似：最后两级，二级域名为 com、co 等且顶级域名为两个字母时取最后三级
+     */
+    static String site(String url) {
+        String host;
+        try {
+            host = new URI(url).getHost();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        if (Objects.isNull(host)) {
+            return null;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (host.startsWith("[") || host.matches("[0-9.]+")) {
+            return host;
+        }
+        String[] labels = host.split("\\.");
+        int n = labels.length;
+        int keep = n >= 3 && labels[n - 1].length() == 2 && SECOND_LEVEL_DOMAINS.contains(labels[n - 2]) ? 3 : 2;
+        if (n <= keep) {
+            return host;
+        }
+        return String.join(".", Arrays.copyOfRange(labels, n - keep, n));
+    }
+
+    /**
+     * glob 转换为 CDP 通配符，无法转换时返回 null
+     */
+    static String toBrowserPattern(String glob) {
+        if (Objects.isNull(glob) || glob.matches(".*[?{}\\[\\]\\\\].*")) {
+            return null;
+        }
+        return glob.replaceAll("\\*+", "*");
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.microsoft.playwright.spring.boot.blocking;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class ResourceBlockingConfig {
+
+    /**
+     * 是否在上下文创建时注册资源拦截
+     */
+    private boolean enabled = false;
+
+    /**
+     * 内置规则组：analytics、ads、media、fonts、images
+     */
+    private Set<ResourceBlockingProfile> profiles = new LinkedHashSet<>();
+
+    /**
+     * 自定义规则，与 profiles 中的规则合并，匹配任意一条即拦截
+     */
+    private List<ResourceBlockingRule> rules = new ArrayList<>();
+
+    /**
+     * Chromium 上是否通过 CDP Network.setBlockedURLs 由浏览器直接拦截只含 URL glob 的规则，
+     * 关闭时全部规则都通过路由拦截。
+     * 注意：浏览器端拦截不会放行页面的主文档导航，glob 匹配到要渲染的页面地址时导航本身会失败
+     */
+    private boolean browserSide = true;
+
+    public List<ResourceBlockingRule> toRules() {
+        List<ResourceBlockingRule> merged = new ArrayList<>();
+        profiles.forEach(profile -> merged.addAll(profile.getRules()));
+        merged.addAll(rules);
+        return merged;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.microsoft.playwright.spring.boot.blocking;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 内置的拦截规则组
+ */
+public enum ResourceBlockingProfile {
+
+    /**
+     * 常见的统计分析脚本及其上报请求
+     */
+    analytics(ResourceBlockingRule.ofPatterns(
+            "*://*.google-analytics.com/**",
+            "*://*.googletagmanager.com/**",
+            "*://hm.baidu.com/**",
+            "*://*.cnzz.com/**",
+            "*://*.growingio.com/**",
+            "*://*.sensorsdata.cn/**",
+            "*://*.hotjar.com/**",
+            "*://*.segment.io/**",
+            "*://*.mixpanel.com/**",
+            "*://*.clarity.ms/**")),
+    /**
+     * 常见的广告及其追踪请求
+     */
+    ads(ResourceBlockingRule.ofPatterns(
+            "*://*.doubleclick.net/**",
+            "*://*.googlesyndication.com/**",
+            "*://*.googleadservices.com/**",
+            "*://*.adnxs.com/**",
+            "*://pos.baidu.com/**",
+            "*://cpro.baidu.com/**",
+            "*://*.criteo.com/**",
+            "*://*.taboola.com/**",
+            "*://*.outbrain.com/**")),
+    /**
+     * 音视频
+     */
+    media(ResourceBlockingRule.ofTypes("media")),
+    /**
+     * 第三方网页字体，同站点的字体保留
+     */
+    fonts(ResourceBlockingRule.ofTypes("font").setThirdPartyOnly(true)),
+    /**
+     * 图片，只适合生成 HTML 或不关心图片的截图
+     */
+    images(ResourceBlockingRule.ofTypes("image"));
+
+    private final List<ResourceBlockingRule> rules;
+
+    ResourceBlockingProfile(ResourceBlockingRule... rules) {
+        this.rules = Collections.unmodifiableList(Arrays.asList(rules));
+    }
+
+    public List<ResourceBlockingRule> getRules() {
+        return rules;
+    }
+
+}
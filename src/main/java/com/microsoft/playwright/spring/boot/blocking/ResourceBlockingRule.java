@@ -0,0 +1,58 @@
+package com.microsoft.playwright.spring.boot.blocking;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一条拦截规则，设置的各项条件同时满足时拦截请求，未设置的条件不参与判断
+ */
+@Accessors(chain = true)
+@Data
+public class ResourceBlockingRule {
+
+    /**
+     * 资源类型：document、stylesheet、image、media、font、script、texttrack、xhr、fetch、eventsource、websocket、manifest、other
+     */
+    private Set<String> resourceTypes = new LinkedHashSet<>();
+    /**
+     * URL glob，如 {@code **}{@code /*.woff2}、{@code *://*.google-analytics.com/**}，匹配其中任意一个即可
+     */
+    private List<String> urlPatterns = new ArrayList<>();
+    /**
+     * URL 正则表达式，匹配其中任意一个即可
+     */
+    private List<String> urlRegex = new ArrayList<>();
+    /**
+     * 只拦截与页面不同站点（按主域名判断）的请求
+     */
+    private boolean thirdPartyOnly = false;
+
+    public static ResourceBlockingRule ofTypes(String... resourceTypes) {
+        ResourceBlockingRule rule = new ResourceBlockingRule();
+        for (String resourceType : resourceTypes) {
+            rule.getResourceTypes().add(resourceType);
+        }
+        return rule;
+    }
+
+    public static ResourceBlockingRule ofPatterns(String... urlPatterns) {
+        ResourceBlockingRule rule = new ResourceBlockingRule();
+        for (String urlPattern : urlPatterns) {
+            rule.getUrlPatterns().add(urlPattern);
+        }
+        return rule;
+    }
+
+    /**
+     * 只由 URL glob 组成的规则可以交给浏览器直接拦截
+     */
+    public boolean isUrlPatternOnly() {
+        return !urlPatterns.isEmpty() && resourceTypes.isEmpty() && urlRegex.isEmpty() && !thirdPartyOnly;
+    }
+
+}
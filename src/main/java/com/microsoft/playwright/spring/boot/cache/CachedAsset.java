@@ -0,0 +1,30 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import java.util.Map;
+
+/**
+ * 缓存的静态资源响应，body 单独存放以便磁盘上的元数据可以独立读取
+ */
+class CachedAsset {
+
+    String url;
+    int status;
+    Map<String, String> headers;
+    String etag;
+    String lastModified;
+    long storedAt;
+    /**
+     * 在此之前无需向源站确认，之后有 etag 或 lastModified 时带条件请求重新验证
+     */
+    volatile long freshUntil;
+    transient byte[] body;
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    boolean isRevalidatable() {
+        return etag != null || lastModified != null;
+    }
+
+}
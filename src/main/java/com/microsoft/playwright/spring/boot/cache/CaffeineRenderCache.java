@@ -0,0 +1,118 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 基于 Caffeine 的渲染结果缓存：按结果字节数计算权重，总大小超过上限时按 W-TinyLFU 淘汰，
+ * 每个结果按其输出类型的存活时间过期。命中时返回字节数组的副本，调用方修改结果不会影响缓存
+ */
+@Slf4j
+public class CaffeineRenderCache implements RenderCache {
+
+    private final RenderCacheConfig config;
+    private final Cache<String, Entry> cache;
+
+    public CaffeineRenderCache(RenderCacheConfig config) {
+        this.config = config;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximumSize().toBytes())
+                .weigher((String key, Entry entry) -> entry.weight)
+                .expireAfter(new Expiry<String, Entry>() {
+
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 渲染耗时较长，不在 Caffeine 的 compute 中执行，避免阻塞同一分段上的其他键；同一键的并发请求由调用方合并
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, RenderPhase phase, Supplier<T> loader) {
+        Entry entry = cache.getIfPresent(key);
+        if (Objects.nonNull(entry)) {
+            return (T) copy(entry.value);
+        }
+        T value = loader.get();
+        long size = sizeOf(value);
+        if (size >= 0 && size <= config.getMaximumEntrySize().toBytes()) {
+            // 缓存副本，调用方修改返回的结果不影响之后的命中
+            cache.put(key, new Entry(copy(value), (int) size, config.getTtl(phase).toNanos()));
+        } else {
+            log.debug("Render result of {} bytes is not cacheable, key : {}", size, key);
+        }
+        return value;
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 供指标绑定使用
+     */
+    public Cache<String, ?> getNativeCache() {
+        return cache;
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof byte[] ? ((byte[]) value).clone() : value;
+    }
+
+    /**
+     * 结果大小（字节），无法估算的类型返回 -1，不缓存
+     */
+    private static long sizeOf(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof String) {
+            return ((String) value).length() * 2L;
+        }
+        return -1L;
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final int weight;
+        private final long ttlNanos;
+
+        Entry(Object value, int weight, long ttlNanos) {
+            this.value = value;
+            this.weight = weight;
+            this.ttlNanos = ttlNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 类路径存在 Caffeine 时按配置注册渲染结果缓存 {@link CaffeineRenderCache}（由 PlaywrightTemplate 使用）
+ * 与静态资源缓存 {@link StaticAssetCache}（在上下文创建时注册路由）
+ */
+@Configuration
+@AutoConfigureBefore(name = "com.microsoft.playwright.spring.boot.PlaywrightAutoConfiguration")
+@ConditionalOnClass(Caffeine.class)
+@EnableConfigurationProperties(PlaywrightProperties.class)
+public class PlaywrightCacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(RenderCache.class)
+    @ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "render-cache.enabled", havingValue = "true")
+    public CaffeineRenderCache renderCache(PlaywrightProperties playwrightProperties){
+        return new CaffeineRenderCache(playwrightProperties.getRenderCache());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "asset-cache.enabled", havingValue = "true")
+    public StaticAssetCache staticAssetCache(PlaywrightProperties playwrightProperties){
+        return new StaticAssetCache(playwrightProperties.getAssetCache());
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+
+import java.util.function.Supplier;
+
+/**
+ * 渲染结果缓存，由 {@link com.microsoft.playwright.spring.boot.PlaywrightTemplate} 在渲染之前查询
+ */
+public interface RenderCache {
+
+    /**
+     * 不缓存，每次都执行渲染
+     */
+    RenderCache NONE = new RenderCache() {
+
+        @Override
+        public <T> T get(String key, RenderPhase phase, Supplier<T> loader) {
+            return loader.get();
+        }
+
+        @Override
+        public void invalidateAll() {
+        }
+
+    };
+
+    /**
+     * 返回 key 对应的缓存结果，未命中时执行 loader 并按 phase 对应的存活时间缓存其结果
+     * @param key 渲染参数的指纹，参见 {@link RenderCacheKey}
+     * @param phase 输出类型
+     * @param loader 执行渲染
+     * @return 渲染结果
+     */
+    <T> T get(String key, RenderPhase phase, Supplier<T> loader);
+
+    void invalidateAll();
+
+}
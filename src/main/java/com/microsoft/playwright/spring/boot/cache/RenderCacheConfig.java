@@ -0,0 +1,43 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class RenderCacheConfig {
+
+    /**
+     * 是否缓存 PlaywrightTemplate 的渲染结果，需要类路径存在 Caffeine
+     */
+    private boolean enabled = false;
+
+    /**
+     * 缓存结果的总大小上限，超过时按 W-TinyLFU 策略淘汰
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 单个结果的大小上限，超过时不缓存，避免一个大 PDF 挤出大量常用结果
+     */
+    private DataSize maximumEntrySize = DataSize.ofMegabytes(4);
+
+    /**
+     * 结果的默认存活时间
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * 按输出类型（screenshot、pdf、content）设置的存活时间，未设置时使用 ttl
+     */
+    private Map<RenderPhase, Duration> ttls = new EnumMap<>(RenderPhase.class);
+
+    public Duration getTtl(RenderPhase phase) {
+        return ttls.getOrDefault(phase, ttl);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * 渲染结果缓存的键：对输出类型、地址及影响输出的各项参数（上下文、导航、媒体模拟、截图或 PDF 参数）的 JSON 表示
+ * 计算 SHA-256，参数对象按字段声明顺序序列化，相同参数得到相同的键
+ */
+public final class RenderCacheKey {
+
+    private static final String VERSION = "v1";
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeHierarchyAdapter(Path.class, (JsonSerializer<Path>) (path, type, context) -> new JsonPrimitive(path.toString()))
+            .create();
+
+    private RenderCacheKey() {
+    }
+
+    /**
+     * @param phase 输出类型
+     * @param url 目标地址
+     * @param parts 影响输出的参数，可以为空
+     * @return 十六进制表示的指纹
+     */
+    public static String of(RenderPhase phase, String url, Object... parts) {
+        StringBuilder canonical = new StringBuilder(256).append(VERSION).append('|').append(phase.name()).append('|').append(url);
+        for (Object part : parts) {
+            canonical.append('|');
+            if (Objects.nonNull(part)) {
+                canonical.append(part instanceof CharSequence ? part.toString() : GSON.toJson(part));
+            }
+        }
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * 参数的指纹，可以作为 {@link #of(RenderPhase, String, Object...)} 的一部分，避免重复序列化不变的参数
+     */
+    public static String fingerprint(Object... parts) {
+        return sha256(GSON.toJson(parts));
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.spring.boot.render.RenderCancellation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同的并发渲染（single-flight）：同一个键上第一个到达的请求在自己的线程上执行渲染，
+ * 渲染完成之前到达的相同请求不再借出上下文，而是等待并共享该次渲染的结果或异常。
+ * <ul>
+ * <li>每个等待方按自己的超时时间与取消标记等待，超时抛出 {@link TimeoutError}，取消抛出 {@link CancellationException}，不影响其他等待方；</li>
+ * <li>执行方的请求被取消时，只要还有等待方，渲染继续进行；所有请求都放弃后渲染才被取消；</li>
+ * <li>共享的渲染因全部放弃而被取消时，仍在等待的请求重新发起渲染；</li>
+ * <li>byte[] 结果返回给每个等待方的是各自的副本。</li>
+ * </ul>
+ */
+@Slf4j
+public class RenderCoalescer {
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong(0);
+
+    /**
+     * @param key 渲染参数的指纹，参见 {@link RenderCacheKey}
+     * @param timeout 等待其他请求的渲染结果的最长时间，为空时不限制
+     * @param loader 执行渲染
+     * @return 渲染结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Duration timeout, Supplier<T> loader) {
+        RenderCancellation caller = RenderCancellation.current();
+        long deadline = Objects.nonNull(timeout) ? System.nanoTime() + timeout.toNanos() : 0L;
+        while (true) {
+            Flight flight = new Flight();
+            Waiter waiter = flight.join(caller);
+            Flight running = flights.putIfAbsent(key, flight);
+            if (Objects.isNull(running)) {
+                return (T) lead(key, flight, waiter, loader);
+            }
+            waiter = running.join(caller);
+            coalesced.incrementAndGet();
+            try {
+                return (T) copy(running.await(waiter, caller, deadline));
+            } catch (FlightCancelledException e) {
+                // 共享的渲染在本请求加入前后被全部放弃，重新发起
+                log.debug("Coalesced render cancelled, retry : {}", key);
+            } finally {
+                waiter.departed = true;
+            }
+        }
+    }
+
+    /**
+     * 被合并的请求数量
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * 正在执行的渲染数量
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    private Object lead(String key, Flight flight, Waiter waiter, Supplier<?> loader) {
+        try {
+            Object value = flight.cancellation.call(loader);
+            flight.result.complete(value);
+            return value;
+        } catch (CancellationException e) {
+            flight.result.completeExceptionally(new FlightCancelledException());
+            throw e;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            waiter.departed = true;
+            flights.remove(key, flight);
+        }
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof byte[] ? ((byte[]) value).clone() : value;
+    }
+
+    private static final class Waiter {
+
+        private final RenderCancellation cancellation;
+        private volatile boolean departed = false;
+
+        Waiter(RenderCancellation cancellation) {
+            this.cancellation = cancellation;
+        }
+
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+        /**
+         * 所有请求都已离开或被取消时视为取消
+         */
+        private final RenderCancellation cancellation = new RenderCancellation(() -> waiters.stream()
+                .allMatch(waiter -> waiter.departed || waiter.cancellation.isCancelled()));
+
+        Waiter join(RenderCancellation caller) {
+            Waiter waiter = new Waiter(caller);
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        /**
+         * 分段等待结果，在每段之间检查调用方的取消标记与超时
+         */
+        Object await(Waiter waiter, RenderCancellation caller, long deadline) {
+            while (true) {
+                caller.throwIfCancelled();
+                long remaining = deadline != 0L ? deadline - System.nanoTime() : Long.MAX_VALUE;
+                if (remaining <= 0L) {
+                    throw new TimeoutError("Timeout exceeded while waiting for coalesced render");
+                }
+                long slice = caller.isCancellable() ? Math.min(remaining, RenderCancellation.CHECK_INTERVAL.toNanos()) : remaining;
+                try {
+                    return result.get(slice, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // 继续下一段
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Interrupted while waiting for coalesced render");
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new CompletionException(cause);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 共享的渲染被全部放弃，只在本类内部传递
+     */
+    private static final class FlightCancelledException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        FlightCancelledException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
@@ -0,0 +1,382 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextCustomizer;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextInfo;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 所有上下文共享的静态资源缓存：无痕上下文的 HTTP 缓存总是空的，每次渲染都会重新下载相同的脚本、样式与字体，
+ * 这里在每个上下文上注册一个路由，由 Java 端按 HTTP 缓存语义缓存 GET 响应并直接返回给浏览器。
+ * <ul>
+ * <li>下载时不跟随重定向，3xx 响应原样交给浏览器由其自行跳转，跳转后的请求按自身地址缓存，
+ * 避免把最终响应当作原地址的内容，使样式、脚本中的相对地址解析到错误的位置；</li>
+ * <li>只缓存 200 响应；Cache-Control 含 no-store、private，请求带 Authorization，或 Vary 除 Accept-Encoding 外还有其他头时不缓存；</li>
+ * <li>max-age、s-maxage 或 Expires 期内直接返回；过期或 no-cache 时若有 ETag、Last-Modified 则带条件请求重新验证，304 时继续使用；</li>
+ * <li>内存中按字节数淘汰，设置磁盘目录时同时异步写入磁盘；内存未命中时在后台线程读取磁盘，驱动线程最多等待
+ * {@link #DISK_READ_TIMEOUT_MILLIS} 毫秒，超时则直接下载，读取结果仍放入内存供之后的请求使用。</li>
+ * </ul>
+ * 路由处理在驱动线程上执行，未命中时的下载也经过 Java 端，因此只拦截 url-regex 匹配的请求。
+ */
+@Slf4j
+public class StaticAssetCache implements BrowserContextCustomizer, Ordered, AutoCloseable {
+
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+    private static final Set<String> EXCLUDED_HEADERS = new HashSet<>(Arrays.asList(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive", "set-cookie", "age"));
+    private static final Gson GSON = new Gson();
+    /**
+     * 驱动线程等待磁盘读取的最长时间
+     */
+    static final long DISK_READ_TIMEOUT_MILLIS = 50L;
+
+    private final StaticAssetCacheConfig config;
+    private final Pattern urlPattern;
+    private final Cache<String, CachedAsset> memory;
+    private final File diskDir;
+    private final AtomicLong diskBytes = new AtomicLong(0);
+    private final ExecutorService diskWriter;
+    private final ExecutorService diskReader;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    public StaticAssetCache(StaticAssetCacheConfig config) {
+        this.config = config;
+        this.urlPattern = Pattern.compile(config.getUrlRegex(), Pattern.CASE_INSENSITIVE);
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximumSize().toBytes())
+                .weigher((String url, CachedAsset asset) -> asset.body.length)
+                .build();
+        if (StringUtils.hasText(config.getDiskDir())) {
+            this.diskDir = new File(config.getDiskDir());
+            this.diskDir.mkdirs();
+            File[] files = diskDir.listFiles();
+            if (Objects.nonNull(files)) {
+                Arrays.stream(files).forEach(file -> diskBytes.addAndGet(file.length()));
+            }
+            // 单线程顺序写入，队列满时丢弃，不阻塞驱动线程
+            this.diskWriter = ThreadUtils.newThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(1024), "playwright-asset-disk", true);
+            ((ThreadPoolExecutor) diskWriter).setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+            // 队列满时拒绝，本次请求不读磁盘
+            this.diskReader = ThreadUtils.newThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(256), "playwright-asset-disk-reader", true);
+        } else {
+            this.diskDir = null;
+            this.diskWriter = null;
+            this.diskReader = null;
+        }
+    }
+
+    @Override
+    public void customize(BrowserContext browserContext, BrowserContextInfo info) {
+        browserContext.route(urlPattern, this::handle);
+    }
+
+    /**
+     * 资源拦截等后注册的路由先执行，缓存的路由最先注册
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getRevalidated() {
+        return revalidated.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 由缓存返回（未经网络传输）的字节数
+     */
+    public long getBytesServed() {
+        return bytesServed.sum();
+    }
+
+    public long getMemorySize() {
+        return memory.estimatedSize();
+    }
+
+    public long getDiskBytes() {
+        return diskBytes.get();
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(diskWriter)) {
+            diskWriter.shutdown();
+        }
+        if (Objects.nonNull(diskReader)) {
+            diskReader.shutdownNow();
+        }
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        if (!"GET".equals(request.method()) || !config.getResourceTypes().contains(request.resourceType())
+                || Objects.nonNull(request.headerValue("authorization"))) {
+            route.fallback();
+            return;
+        }
+        String url = request.url();
+        long now = System.currentTimeMillis();
+        CachedAsset asset = lookup(url);
+        // 1、新鲜的缓存直接返回
+        if (Objects.nonNull(asset) && asset.isFresh(now)) {
+            hits.increment();
+            fulfill(route, asset);
+            return;
+        }
+        // 2、过期的缓存带条件请求重新验证
+        Map<String, String> headers = null;
+        if (Objects.nonNull(asset) && asset.isRevalidatable()) {
+            headers = new HashMap<>(request.headers());
+            if (Objects.nonNull(asset.etag)) {
+                headers.put("if-none-match", asset.etag);
+            }
+            if (Objects.nonNull(asset.lastModified)) {
+                headers.put("if-modified-since", asset.lastModified);
+            }
+        }
+        APIResponse response;
+        try {
+            Route.FetchOptions fetchOptions = new Route.FetchOptions().setMaxRedirects(0);
+            if (Objects.nonNull(headers)) {
+                fetchOptions.setHeaders(headers);
+            }
+            response = route.fetch(fetchOptions);
+        } catch (RuntimeException e) {
+            // 由浏览器自行请求，失败信息与未使用缓存时一致
+            log.debug("Fetch asset {} error, fall back to the browser.", url, e);
+            route.fallback();
+            return;
+        }
+        try {
+            if (Objects.nonNull(headers) && response.status() == 304) {
+                asset.freshUntil = freshUntil(response.headers(), now);
+                revalidated.increment();
+                fulfill(route, asset);
+                if (Objects.nonNull(diskDir)) {
+                    writeToDisk(asset);
+                }
+                return;
+            }
+            // 3、下载并按响应头决定是否缓存，重定向等非 200 响应原样返回且不缓存
+            misses.increment();
+            route.fulfill(new Route.FulfillOptions().setResponse(response));
+            store(url, response, now);
+        } finally {
+            // 释放驱动端保存的响应体
+            response.dispose();
+        }
+    }
+
+    private void fulfill(Route route, CachedAsset asset) {
+        bytesServed.add(asset.body.length);
+        route.fulfill(new Route.FulfillOptions().setStatus(asset.status).setHeaders(asset.headers).setBodyBytes(asset.body));
+    }
+
+    private void store(String url, APIResponse response, long now) {
+        Map<String, String> responseHeaders = response.headers();
+        String cacheControl = responseHeaders.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        String vary = responseHeaders.getOrDefault("vary", "").toLowerCase(Locale.ROOT).replace("accept-encoding", "").replace(",", "").trim();
+        if (response.status() != 200 || cacheControl.contains("no-store") || cacheControl.contains("private") || !vary.isEmpty()) {
+            return;
+        }
+        CachedAsset asset = new CachedAsset();
+        asset.url = url;
+        asset.status = response.status();
+        asset.etag = responseHeaders.get("etag");
+        asset.lastModified = responseHeaders.get("last-modified");
+        asset.storedAt = now;
+        asset.freshUntil = freshUntil(responseHeaders, now);
+        if (!asset.isFresh(now) && !asset.isRevalidatable()) {
+            return;
+        }
+        byte[] body = response.body();
+        if (body.length > config.getMaximumEntrySize().toBytes()) {
+            return;
+        }
+        asset.body = body;
+        asset.headers = new LinkedHashMap<>();
+        responseHeaders.forEach((name, value) -> {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                asset.headers.put(name, value);
+            }
+        });
+        memory.put(url, asset);
+        if (Objects.nonNull(diskDir)) {
+            writeToDisk(asset);
+        }
+    }
+
+    /**
+     * 新鲜期截止时间：no-cache 时为 0（每次重新验证），其次取 s-maxage、max-age，再次取 Expires 与 Date 之差
+     */
+    static long freshUntil(Map<String, String> headers, long now) {
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-cache")) {
+            return 0L;
+        }
+        long maxAge = -1L;
+        Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+        while (matcher.find()) {
+            long seconds = Long.parseLong(matcher.group(2));
+            if ("s-maxage".equals(matcher.group(1)) || maxAge < 0) {
+                maxAge = seconds;
+            }
+        }
+        if (maxAge >= 0) {
+            return now + TimeUnit.SECONDS.toMillis(maxAge);
+        }
+        String expires = headers.get("expires");
+        if (Objects.nonNull(expires)) {
+            try {
+                long expiresAt = ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                String date = headers.get("date");
+                long dateAt = Objects.nonNull(date) ? ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() : now;
+                return now + Math.max(0L, expiresAt - dateAt);
+            } catch (DateTimeParseException e) {
+                return 0L;
+            }
+        }
+        return 0L;
+    }
+
+    private CachedAsset lookup(String url) {
+        CachedAsset asset = memory.getIfPresent(url);
+        if (Objects.nonNull(asset) || Objects.isNull(diskDir)) {
+            return asset;
+        }
+        Future<CachedAsset> future;
+        try {
+            future = diskReader.submit(() -> {
+                CachedAsset cached = readFromDisk(url);
+                if (Objects.nonNull(cached)) {
+                    // 不覆盖等待超时后重新下载并缓存的版本
+                    CachedAsset previous = memory.asMap().putIfAbsent(url, cached);
+                    return Objects.nonNull(previous) ? previous : cached;
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        try {
+            return future.get(DISK_READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private CachedAsset readFromDisk(String url) {
+        String name = RenderCacheKey.fingerprint(url);
+        File meta = new File(diskDir, name + ".json");
+        File body = new File(diskDir, name + ".body");
+        if (!meta.isFile() || !body.isFile()) {
+            return null;
+        }
+        try {
+            CachedAsset asset = GSON.fromJson(new String(Files.readAllBytes(meta.toPath()), StandardCharsets.UTF_8), CachedAsset.class);
+            if (Objects.isNull(asset) || !url.equals(asset.url)) {
+                return null;
+            }
+            asset.body = Files.readAllBytes(body.toPath());
+            return asset;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Read cached asset {} from disk error.", url, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(CachedAsset asset) {
+        diskWriter.execute(() -> {
+            String name = RenderCacheKey.fingerprint(asset.url);
+            File meta = new File(diskDir, name + ".json");
+            File body = new File(diskDir, name + ".body");
+            try {
+                long previous = meta.length() + body.length();
+                byte[] json = GSON.toJson(asset).getBytes(StandardCharsets.UTF_8);
+                Files.write(body.toPath(), asset.body);
+                Files.write(meta.toPath(), json);
+                diskBytes.addAndGet(json.length + asset.body.length - previous);
+                trimDisk();
+            } catch (IOException e) {
+                log.warn("Write cached asset {} to disk error.", asset.url, e);
+            }
+        });
+    }
+
+    /**
+     * 超过上限时按写入时间删除最早的资源，直到低于上限的 90%
+     */
+    private void trimDisk() {
+        long limit = config.getDiskMaximumSize().toBytes();
+        if (diskBytes.get() <= limit) {
+            return;
+        }
+        File[] files = diskDir.listFiles((dir, fileName) -> fileName.endsWith(".body"));
+        if (Objects.isNull(files)) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File body : files) {
+            if (diskBytes.get() <= limit * 0.9) {
+                break;
+            }
+            File meta = new File(diskDir, body.getName().replace(".body", ".json"));
+            long size = body.length() + meta.length();
+            if (meta.delete() | body.delete()) {
+                diskBytes.addAndGet(-size);
+            }
+        }
+    }
+
+}
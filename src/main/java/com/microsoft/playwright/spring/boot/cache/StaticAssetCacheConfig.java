@@ -0,0 +1,48 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Data
+public class StaticAssetCacheConfig {
+
+    /**
+     * 是否由所有上下文共享静态资源缓存，需要类路径存在 Caffeine
+     */
+    private boolean enabled = false;
+
+    /**
+     * 经过缓存的资源类型
+     */
+    private Set<String> resourceTypes = new LinkedHashSet<>(Arrays.asList("script", "stylesheet", "font", "image"));
+
+    /**
+     * 经过缓存的 URL 正则表达式，只有匹配的请求才会由 Java 端处理，其余请求不受影响
+     */
+    private String urlRegex = "\\.(js|mjs|css|woff2?|ttf|otf|eot|png|jpe?g|gif|svg|webp|avif|ico)(\\?.*)?$";
+
+    /**
+     * 内存中缓存的总大小上限
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(256);
+
+    /**
+     * 单个资源的大小上限，超过时不缓存
+     */
+    private DataSize maximumEntrySize = DataSize.ofMegabytes(10);
+
+    /**
+     * 磁盘缓存目录，为空时只缓存在内存中；内存中淘汰的资源仍可从磁盘读取，重启后继续使用
+     */
+    private String diskDir;
+
+    /**
+     * 磁盘缓存的总大小上限，超过时删除最早写入的资源
+     */
+    private DataSize diskMaximumSize = DataSize.ofGigabytes(1);
+
+}
@@ -0,0 +1,51 @@
+package com.microsoft.playwright.spring.boot.har;
+
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import lombok.Data;
+
+@Data
+public class HarReplayConfig {
+
+    /**
+     * 是否在上下文创建时注册 HAR 回放
+     */
+    private boolean enabled = false;
+
+    /**
+     * HAR 文件路径，.zip 结尾时响应内容保存在压缩包中
+     */
+    private String path;
+
+    /**
+     * 只回放匹配该 glob 的请求，其余请求正常访问网络；与 urlRegex 都为空时回放所有请求
+     */
+    private String url;
+
+    /**
+     * 只回放匹配该正则表达式的请求，设置了 url 时忽略
+     */
+    private String urlRegex;
+
+    /**
+     * HAR 中没有对应记录的请求：abort（默认，渲染不访问网络）或 fallback（交给后续路由或网络）
+     */
+    private HarNotFound notFound = HarNotFound.ABORT;
+
+    /**
+     * 是否以访问网络的结果更新 HAR 文件（录制），文件在上下文关闭时写入；多个上下文会相互覆盖，录制时请将 browser-pool.max-total 设为 1
+     */
+    private boolean update = false;
+
+    /**
+     * 录制时响应内容的保存方式：embed 或 attach
+     */
+    private RouteFromHarUpdateContentPolicy updateContent;
+
+    /**
+     * 录制时的详细程度：minimal 只保存回放所需的信息
+     */
+    private HarMode updateMode = HarMode.MINIMAL;
+
+}
@@ -0,0 +1,77 @@
+package com.microsoft.playwright.spring.boot.har;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextCustomizer;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 在每个上下文上注册 {@link BrowserContext#routeFromHAR}，请求由录制的 HAR 文件响应，渲染不受网络波动影响，
+ * 适合回归比对与压测。HAR 文件在每个上下文创建时由驱动加载一次。
+ */
+@Slf4j
+public class HarReplayer implements BrowserContextCustomizer, Ordered {
+
+    private final HarReplayConfig config;
+    private final Path harPath;
+    private final Pattern urlPattern;
+
+    public HarReplayer(HarReplayConfig config) {
+        if (!StringUtils.hasText(config.getPath())) {
+            throw new PlaywrightException("playwright.har-replay.path is required");
+        }
+        this.config = config;
+        this.harPath = Paths.get(config.getPath()).toAbsolutePath();
+        this.urlPattern = !StringUtils.hasText(config.getUrl()) && StringUtils.hasText(config.getUrlRegex())
+                ? Pattern.compile(config.getUrlRegex()) : null;
+        // 回放时文件必须存在，启动时即失败，而不是每个上下文创建时失败
+        if (!config.isUpdate() && !Files.isRegularFile(harPath)) {
+            throw new PlaywrightException("HAR file " + harPath + " does not exist");
+        }
+        log.info("{} HAR {}, url : {}, not found : {}.", config.isUpdate() ? "Record" : "Replay", harPath,
+                StringUtils.hasText(config.getUrl()) ? config.getUrl() : Objects.toString(urlPattern, "all"), config.getNotFound());
+    }
+
+    @Override
+    public void customize(BrowserContext browserContext, BrowserContextInfo info) {
+        BrowserContext.RouteFromHAROptions options = new BrowserContext.RouteFromHAROptions()
+                .setNotFound(config.getNotFound())
+                .setUpdate(config.isUpdate());
+        if (StringUtils.hasText(config.getUrl())) {
+            options.setUrl(config.getUrl());
+        } else if (Objects.nonNull(urlPattern)) {
+            options.setUrl(urlPattern);
+        }
+        if (config.isUpdate()) {
+            if (Objects.nonNull(config.getUpdateContent())) {
+                options.setUpdateContent(config.getUpdateContent());
+            }
+            if (Objects.nonNull(config.getUpdateMode())) {
+                options.setUpdateMode(config.getUpdateMode());
+            }
+        }
+        browserContext.routeFromHAR(harPath, options);
+    }
+
+    /**
+     * 在静态资源缓存之后、资源拦截之前注册：被拦截的请求不回放，回放的请求不经过缓存
+     */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    public Path getHarPath() {
+        return harPath;
+    }
+
+}
@@ -17,42 +17,182 @@ package com.microsoft.playwright.spring.boot.hooks;
 
 import com.microsoft.playwright.spring.boot.PlaywrightProperties;
 import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPoolConfig;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 启动预热：在后台线程中以有限并发创建 max(minIdle, 预热水位) 个浏览器上下文（不超过 maxTotal），不阻塞 Spring 容器刷新。
+ * 开启 readiness-gate 时，在上下文数量达到预热水位之前应用保持 {@link ReadinessState#REFUSING_TRAFFIC} 状态，
+ * 创建失败时按指数退避持续重试直到达到预热水位，启动时短暂的浏览器启动失败不会让应用永远处于未就绪状态。
+ */
 @Slf4j
-public class PlaywrightInstall implements Runnable {
+public class PlaywrightInstall implements Runnable, ApplicationEventPublisherAware, ApplicationListener<AvailabilityChangeEvent<?>> {
+
+	private static final int MAX_ATTEMPTS = 3;
+	/**
+	 * 重试的最长退避时间（秒）
+	 */
+	private static final long MAX_BACKOFF_SECONDS = 30L;
+
 	private volatile boolean isInstalled = false;
+	private volatile boolean isWarm = false;
+	private final AtomicInteger warmed = new AtomicInteger(0);
 	private BrowserContextPool browserContextPool;
 	private PlaywrightProperties playwrightProperties;
+	private ApplicationEventPublisher eventPublisher;
+
 	public PlaywrightInstall(BrowserContextPool browserContextPool, PlaywrightProperties playwrightProperties) {
 		this.browserContextPool = browserContextPool;
 		this.playwrightProperties = playwrightProperties;
 	}
 
+	/**
+	 * 在后台线程中开始预热
+	 */
+	public void start() {
+		ThreadUtils.newThread("playwright-prewarm", this, true).start();
+	}
+
 	@Override
 	public void run() {
 		if(Objects.nonNull(browserContextPool) && Objects.nonNull(playwrightProperties)){
+			// 1、触发浏览器安装
+			System.setProperty("PLAYWRIGHT_DOWNLOAD_HOST", playwrightProperties.getDownloadHost());
+			BrowserContextPoolConfig poolConfig = playwrightProperties.getBrowserPool();
+			int warmLevel = getWarmLevel();
+			if (poolConfig.getReadinessWarmLevel() > warmLevel) {
+				log.warn("Playwright readiness-warm-level {} exceeds max-total, clamped to {}.", poolConfig.getReadinessWarmLevel(), warmLevel);
+			}
+			int target = Math.max(0, Math.min(Math.max(poolConfig.getMinIdle(), warmLevel), getMaxTotal()));
+			if (target == 0) {
+				markWarm();
+				return;
+			}
+			// 2、以有限并发并行创建上下文
+			int concurrency = Math.max(1, Math.min(poolConfig.getPrewarmConcurrency(), target));
+			ExecutorService executor = ThreadUtils.newThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(), "playwright-prewarm", true);
+			long start = System.currentTimeMillis();
 			try {
-				// 1、触发浏览器安装
-				System.setProperty("PLAYWRIGHT_DOWNLOAD_HOST", playwrightProperties.getDownloadHost());
-				browserContextPool.borrowObject();
-				// 2、安装完成后
-				isInstalled = true;
- 				if (isInstalled) {
-					log.info("Playwright is installed.");
-				} else {
-					log.warn("Playwright is not installed yet.");
+				List<Future<?>> futures = new ArrayList<>(target);
+				for (int i = 0; i < target; i++) {
+					futures.add(executor.submit(this::warmOne));
+				}
+				for (Future<?> future : futures) {
+					future.get();
 				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				log.error("Playwright prewarm error", e.getCause());
+			} finally {
+				executor.shutdown();
+			}
+			// 3、预热完成后
+			isInstalled = warmed.get() > 0;
+			if (isInstalled) {
+				log.info("Playwright is installed, {}/{} browser contexts prewarmed in {} ms.", warmed.get(), target, System.currentTimeMillis() - start);
+			} else {
+				log.warn("Playwright is not installed yet.");
+			}
+		}
+	}
+
+	/**
+	 * 预热一个上下文：失败时按指数退避重试，最多 MAX_ATTEMPTS 次；
+	 * 开启 readiness-gate 且尚未达到预热水位时一直重试，直到达到水位或池被关闭
+	 */
+	private void warmOne() {
+		boolean readinessGate = playwrightProperties.getBrowserPool().isReadinessGate();
+		for (int attempt = 1; ; attempt++) {
+			if (browserContextPool.isClosed() || (attempt > MAX_ATTEMPTS && (isWarm || !readinessGate))) {
+				return;
+			}
+			try {
+				browserContextPool.addObject();
+				if (warmed.incrementAndGet() >= getWarmLevel()) {
+					markWarm();
+				}
+				return;
 			} catch (Exception e) {
-				log.error("Playwright install error", e);
+				long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempt - 1, 5));
+				if (attempt < MAX_ATTEMPTS || !readinessGate) {
+					log.warn("Prewarm browser context failed, attempt {}/{}.", attempt, MAX_ATTEMPTS, e);
+				} else {
+					log.error("Prewarm browser context failed, attempt {}, {}/{} prewarmed, readiness stays REFUSING_TRAFFIC, retry in {} s.",
+							attempt, warmed.get(), getWarmLevel(), backoff, e);
+				}
+				try {
+					TimeUnit.SECONDS.sleep(backoff);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
 			}
 		}
 	}
 
+	/**
+	 * 应用就绪所需的预热上下文数量，不超过 maxTotal，否则永远无法达到
+	 */
+	private int getWarmLevel() {
+		BrowserContextPoolConfig poolConfig = playwrightProperties.getBrowserPool();
+		int warmLevel = poolConfig.getReadinessWarmLevel() < 0 ? poolConfig.getMinIdle() : poolConfig.getReadinessWarmLevel();
+		return Math.min(warmLevel, getMaxTotal());
+	}
+
+	private int getMaxTotal() {
+		return browserContextPool.getMaxTotal() < 0 ? Integer.MAX_VALUE : browserContextPool.getMaxTotal();
+	}
+
+	private synchronized void markWarm() {
+		if (isWarm) {
+			return;
+		}
+		isWarm = true;
+		log.info("Playwright browser context pool is warm.");
+		if (playwrightProperties.getBrowserPool().isReadinessGate() && Objects.nonNull(eventPublisher)) {
+			AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+		}
+	}
+
+	/**
+	 * Spring Boot 在启动完成后发布 ACCEPTING_TRAFFIC，若此时尚未达到预热水位则改为 REFUSING_TRAFFIC
+	 */
+	@Override
+	public synchronized void onApplicationEvent(AvailabilityChangeEvent<?> event) {
+		if (isWarm || event.getSource() == this || !playwrightProperties.getBrowserPool().isReadinessGate()) {
+			return;
+		}
+		if (ReadinessState.ACCEPTING_TRAFFIC == event.getState()) {
+			log.info("Playwright browser context pool is not warm yet ({}/{}), refusing traffic.", warmed.get(), getWarmLevel());
+			AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+		}
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
 	public boolean isInstalled() {
 		return isInstalled;
 	}
 
+	public boolean isWarm() {
+		return isWarm;
+	}
+
 }
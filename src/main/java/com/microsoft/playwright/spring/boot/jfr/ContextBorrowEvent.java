@@ -0,0 +1,18 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 上下文借出事件，elapsed 为借出等待时间
+ */
+@Name(PoolEvent.NAME_PREFIX + "ContextBorrow")
+@Label("Context Borrow")
+@Description("Browser context borrowed from the pool")
+class ContextBorrowEvent extends PoolEvent {
+
+    @Label("Success")
+    boolean success;
+
+}
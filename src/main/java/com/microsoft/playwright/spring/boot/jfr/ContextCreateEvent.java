@@ -0,0 +1,18 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 上下文创建事件
+ */
+@Name(PoolEvent.NAME_PREFIX + "ContextCreate")
+@Label("Context Create")
+@Description("Browser context created by the pool factory")
+class ContextCreateEvent extends PoolEvent {
+
+    @Label("Success")
+    boolean success;
+
+}
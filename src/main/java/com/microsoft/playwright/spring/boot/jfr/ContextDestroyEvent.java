@@ -0,0 +1,15 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 上下文销毁事件
+ */
+@Name(PoolEvent.NAME_PREFIX + "ContextDestroy")
+@Label("Context Destroy")
+@Description("Browser context closed by the pool factory")
+class ContextDestroyEvent extends PoolEvent {
+
+}
@@ -0,0 +1,18 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 上下文归还事件，elapsed 含重置或退役销毁的耗时
+ */
+@Name(PoolEvent.NAME_PREFIX + "ContextReturn")
+@Label("Context Return")
+@Description("Browser context returned to the pool")
+class ContextReturnEvent extends PoolEvent {
+
+    @Label("Retired")
+    boolean retired;
+
+}
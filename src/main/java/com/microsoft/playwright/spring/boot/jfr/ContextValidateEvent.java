@@ -0,0 +1,18 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 上下文校验事件
+ */
+@Name(PoolEvent.NAME_PREFIX + "ContextValidate")
+@Label("Context Validate")
+@Description("Browser context validated by the pool factory")
+class ContextValidateEvent extends PoolEvent {
+
+    @Label("Valid")
+    boolean valid;
+
+}
@@ -0,0 +1,106 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextInfo;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPoolListener;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPooledObjectFactory;
+import org.apache.commons.pool2.PooledObjectFactory;
+
+import java.util.Objects;
+
+/**
+ * 将上下文池的创建、销毁、借出、归还与校验写为 JFR 事件，未开启录制或事件被禁用时只做一次 isEnabled 判断
+ */
+public class JfrBrowserContextPoolListener implements BrowserContextPoolListener {
+
+    private final BrowserContextPool pool;
+
+    public JfrBrowserContextPoolListener(BrowserContextPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void onBorrow(BrowserContext browserContext, long waitNanos) {
+        ContextBorrowEvent event = new ContextBorrowEvent();
+        if (event.isEnabled()) {
+            event.success = true;
+            commit(event, browserContext, waitNanos);
+        }
+    }
+
+    @Override
+    public void onBorrowFailure(Throwable cause, long waitNanos) {
+        ContextBorrowEvent event = new ContextBorrowEvent();
+        if (event.isEnabled()) {
+            commit(event, null, waitNanos);
+        }
+    }
+
+    @Override
+    public void onReturn(BrowserContext browserContext, boolean retired, long durationNanos) {
+        ContextReturnEvent event = new ContextReturnEvent();
+        if (event.isEnabled()) {
+            event.retired = retired;
+            commit(event, browserContext, durationNanos);
+        }
+    }
+
+    @Override
+    public void onCreate(BrowserContext browserContext, long durationNanos) {
+        ContextCreateEvent event = new ContextCreateEvent();
+        if (event.isEnabled()) {
+            event.success = true;
+            commit(event, browserContext, durationNanos);
+        }
+    }
+
+    @Override
+    public void onCreateFailure(Throwable cause, long durationNanos) {
+        ContextCreateEvent event = new ContextCreateEvent();
+        if (event.isEnabled()) {
+            commit(event, null, durationNanos);
+        }
+    }
+
+    @Override
+    public void onDestroy(BrowserContext browserContext, long durationNanos) {
+        ContextDestroyEvent event = new ContextDestroyEvent();
+        if (event.isEnabled()) {
+            commit(event, browserContext, durationNanos);
+        }
+    }
+
+    @Override
+    public void onValidate(BrowserContext browserContext, boolean valid, long durationNanos) {
+        ContextValidateEvent event = new ContextValidateEvent();
+        if (event.isEnabled()) {
+            event.valid = valid;
+            commit(event, browserContext, durationNanos);
+        }
+    }
+
+    private void commit(PoolEvent event, BrowserContext browserContext, long elapsedNanos) {
+        event.context = getContextId(browserContext);
+        event.elapsed = elapsedNanos;
+        event.active = pool.getNumActive();
+        event.idle = pool.getNumIdle();
+        event.waiters = pool.getNumWaiters();
+        event.commit();
+    }
+
+    private String getContextId(BrowserContext browserContext) {
+        if (Objects.isNull(browserContext)) {
+            return null;
+        }
+        PooledObjectFactory<BrowserContext> factory = pool.getFactory();
+        if (factory instanceof BrowserContextPooledObjectFactory) {
+            BrowserContextInfo contextInfo = ((BrowserContextPooledObjectFactory) factory).getContextInfo(browserContext);
+            if (Objects.nonNull(contextInfo)) {
+                return String.valueOf(contextInfo.getId());
+            }
+        }
+        return Integer.toHexString(System.identityHashCode(browserContext));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import com.microsoft.playwright.spring.boot.render.PageRenderer;
+import com.microsoft.playwright.spring.boot.render.RenderObserver;
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import com.microsoft.playwright.spring.boot.render.RenderScope;
+
+/**
+ * 将 {@link PageRenderer} 的各渲染阶段写为 {@link RenderPhaseEvent}，子阶段继承父阶段的主机名
+ */
+public class JfrRenderObserver implements RenderObserver {
+
+    @Override
+    public RenderScope start(RenderPhase phase, String url) {
+        return begin(phase, null);
+    }
+
+    private RenderScope begin(RenderPhase phase, String host) {
+        RenderPhaseEvent event = new RenderPhaseEvent();
+        if (!event.isEnabled()) {
+            return RenderScope.NOOP;
+        }
+        event.phase = phase.name();
+        event.host = host;
+        event.begin();
+        return new EventScope(event);
+    }
+
+    private class EventScope implements RenderScope {
+
+        private final RenderPhaseEvent event;
+
+        EventScope(RenderPhaseEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public RenderScope child(RenderPhase phase) {
+            return begin(phase, event.host);
+        }
+
+        @Override
+        public RenderScope attribute(String key, Object value) {
+            if (value == null) {
+                return this;
+            }
+            switch (key) {
+                case PageRenderer.ATTR_URL_HOST:
+                    event.host = value.toString();
+                    break;
+                case PageRenderer.ATTR_WAIT_UNTIL:
+                    event.waitUntil = value.toString();
+                    break;
+                case PageRenderer.ATTR_OUTPUT_BYTES:
+                    event.outputBytes = ((Number) value).longValue();
+                    break;
+                case PageRenderer.ATTR_POOL_WAIT_MS:
+                    event.poolWaitMillis = ((Number) value).longValue();
+                    break;
+                default:
+                    break;
+            }
+            return this;
+        }
+
+        @Override
+        public void error(Throwable cause) {
+            event.failed = true;
+            event.error = cause.getClass().getName() + ": " + cause.getMessage();
+        }
+
+        @Override
+        public void close() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import com.microsoft.playwright.spring.boot.PlaywrightAutoConfiguration;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 运行时支持 JDK Flight Recorder 时注册池与渲染事件，可通过 playwright.jfr.enabled=false 关闭
+ */
+@Configuration
+@AutoConfigureAfter(PlaywrightAutoConfiguration.class)
+@ConditionalOnClass(name = "jdk.jfr.Event")
+@ConditionalOnProperty(prefix = "playwright.jfr", value = "enabled", havingValue = "true", matchIfMissing = true)
+public class PlaywrightJfrAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JfrRenderObserver jfrRenderObserver() {
+        return new JfrRenderObserver();
+    }
+
+    @Bean
+    @ConditionalOnBean(BrowserContextPool.class)
+    @ConditionalOnMissingBean
+    public JfrBrowserContextPoolListener jfrBrowserContextPoolListener(BrowserContextPool browserContextPool) {
+        JfrBrowserContextPoolListener listener = new JfrBrowserContextPoolListener(browserContextPool);
+        browserContextPool.addListener(listener);
+        return listener;
+    }
+
+}
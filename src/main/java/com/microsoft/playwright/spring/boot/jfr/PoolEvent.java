@@ -0,0 +1,35 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 上下文池事件的公共字段。监听器回调发生在操作完成之后，耗时由池测量后写入 {@link #elapsed}，
+ * 事件自身的 duration 为 0
+ */
+@Category({"Playwright", "Pool"})
+@StackTrace(false)
+abstract class PoolEvent extends Event {
+
+    static final String NAME_PREFIX = "playwright.pool.";
+
+    @Label("Context")
+    String context;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Active")
+    int active;
+
+    @Label("Idle")
+    int idle;
+
+    @Label("Waiters")
+    int waiters;
+
+}
@@ -0,0 +1,43 @@
+package com.microsoft.playwright.spring.boot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 渲染阶段事件，事件的 duration 即阶段耗时
+ */
+@Name("playwright.render.Phase")
+@Label("Render Phase")
+@Description("A phase of PageRenderer: render, borrow, navigate, wait, screenshot, pdf, content or action")
+@Category({"Playwright", "Render"})
+@StackTrace(false)
+class RenderPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Host")
+    String host;
+
+    @Label("Wait Until")
+    String waitUntil;
+
+    @Label("Output Size")
+    @DataAmount
+    long outputBytes;
+
+    @Label("Pool Wait (ms)")
+    long poolWaitMillis;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Error")
+    String error;
+
+}
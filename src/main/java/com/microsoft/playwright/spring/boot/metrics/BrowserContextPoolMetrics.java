@@ -0,0 +1,113 @@
+package com.microsoft.playwright.spring.boot.metrics;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BrowserContextPool} 的 Micrometer 指标：活跃/空闲/等待数量、借出等待时间分布、创建与销毁耗时、校验失败次数。
+ * 指标在 {@link #bindTo(MeterRegistry)} 后开始记录，此前发生的事件被忽略
+ */
+public class BrowserContextPoolMetrics implements MeterBinder, BrowserContextPoolListener {
+
+    public static final String METRIC_PREFIX = "playwright.pool.";
+
+    private final BrowserContextPool pool;
+    private final Iterable<Tag> tags;
+
+    private volatile Timer borrowTimer;
+    private volatile Counter borrowFailures;
+    private volatile Timer createTimer;
+    private volatile Counter createFailures;
+    private volatile Timer destroyTimer;
+    private volatile Counter validationFailures;
+
+    public BrowserContextPoolMetrics(BrowserContextPool pool, Iterable<Tag> tags) {
+        this.pool = pool;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "active", pool, BrowserContextPool::getNumActive).tags(tags)
+                .description("Browser contexts currently borrowed from the pool").register(registry);
+        Gauge.builder(METRIC_PREFIX + "idle", pool, BrowserContextPool::getNumIdle).tags(tags)
+                .description("Browser contexts idle in the pool").register(registry);
+        Gauge.builder(METRIC_PREFIX + "waiting", pool, BrowserContextPool::getNumWaiters).tags(tags)
+                .description("Threads waiting to borrow a browser context").register(registry);
+        Gauge.builder(METRIC_PREFIX + "max", pool, BrowserContextPool::getMaxTotal).tags(tags)
+                .description("Maximum number of browser contexts in the pool").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "created", pool, BrowserContextPool::getCreatedCount).tags(tags)
+                .description("Browser contexts created since the pool started").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "destroyed", pool, BrowserContextPool::getDestroyedCount).tags(tags)
+                .description("Browser contexts destroyed since the pool started").register(registry);
+        this.borrowTimer = Timer.builder(METRIC_PREFIX + "borrow.wait").tags(tags)
+                .description("Time spent waiting to borrow a browser context")
+                .publishPercentileHistogram().register(registry);
+        this.borrowFailures = Counter.builder(METRIC_PREFIX + "borrow.failures").tags(tags)
+                .description("Borrow attempts that timed out or failed").register(registry);
+        this.createTimer = Timer.builder(METRIC_PREFIX + "create").tags(tags)
+                .description("Time spent creating a browser context (makeObject)").register(registry);
+        this.createFailures = Counter.builder(METRIC_PREFIX + "create.failures").tags(tags)
+                .description("Browser context creations that failed").register(registry);
+        this.destroyTimer = Timer.builder(METRIC_PREFIX + "destroy").tags(tags)
+                .description("Time spent destroying a browser context (destroyObject)").register(registry);
+        this.validationFailures = Counter.builder(METRIC_PREFIX + "validation.failures").tags(tags)
+                .description("Browser contexts that failed validation").register(registry);
+    }
+
+    @Override
+    public void onBorrow(BrowserContext browserContext, long waitNanos) {
+        record(borrowTimer, waitNanos);
+    }
+
+    @Override
+    public void onBorrowFailure(Throwable cause, long waitNanos) {
+        record(borrowTimer, waitNanos);
+        increment(borrowFailures);
+    }
+
+    @Override
+    public void onCreate(BrowserContext browserContext, long durationNanos) {
+        record(createTimer, durationNanos);
+    }
+
+    @Override
+    public void onCreateFailure(Throwable cause, long durationNanos) {
+        record(createTimer, durationNanos);
+        increment(createFailures);
+    }
+
+    @Override
+    public void onDestroy(BrowserContext browserContext, long durationNanos) {
+        record(destroyTimer, durationNanos);
+    }
+
+    @Override
+    public void onValidationFailure(BrowserContext browserContext) {
+        increment(validationFailures);
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (Objects.nonNull(timer)) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (Objects.nonNull(counter)) {
+            counter.increment();
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.microsoft.playwright.spring.boot.metrics;
+
+import com.microsoft.playwright.spring.boot.PlaywrightAutoConfiguration;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import com.microsoft.playwright.spring.boot.PlaywrightTemplate;
+import com.microsoft.playwright.spring.boot.blocking.ResourceBlocker;
+import com.microsoft.playwright.spring.boot.cache.CaffeineRenderCache;
+import com.microsoft.playwright.spring.boot.cache.RenderCoalescer;
+import com.microsoft.playwright.spring.boot.cache.StaticAssetCache;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Objects;
+
+/**
+ * 类路径存在 Micrometer 时为 {@link BrowserContextPool} 注册指标，由 Spring Boot Actuator 绑定到 MeterRegistry
+ */
+@Configuration
+@AutoConfigureAfter(PlaywrightAutoConfiguration.class)
+@ConditionalOnClass(MeterBinder.class)
+@ConditionalOnBean(BrowserContextPool.class)
+public class PlaywrightMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BrowserContextPoolMetrics browserContextPoolMetrics(PlaywrightProperties playwrightProperties, BrowserContextPool browserContextPool){
+
+        // 1、指标按浏览器类型与模式打标签
+        BrowserContextPoolMetrics metrics = new BrowserContextPoolMetrics(browserContextPool, Tags.of(
+                "browser.type", String.valueOf(playwrightProperties.getBrowserType()),
+                "browser.mode", String.valueOf(playwrightProperties.getBrowserMode())));
+        // 2、监听池的借出、创建、销毁与校验事件
+        browserContextPool.addListener(metrics);
+
+        return metrics;
+    }
+
+    @Bean
+    @ConditionalOnBean(PlaywrightTemplate.class)
+    public MeterBinder renderCoalescerMetrics(PlaywrightTemplate playwrightTemplate){
+        return registry -> {
+            RenderCoalescer coalescer = playwrightTemplate.getRenderCoalescer();
+            if (Objects.isNull(coalescer)) {
+                return;
+            }
+            FunctionCounter.builder("playwright.render.coalesced", coalescer, RenderCoalescer::getCoalesced)
+                    .description("Renders that shared the result of an identical in-flight render")
+                    .register(registry);
+            Gauge.builder("playwright.render.in.flight", coalescer, RenderCoalescer::getInFlight)
+                    .description("Distinct renders currently in flight")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnBean(ResourceBlocker.class)
+    public MeterBinder resourceBlockerMetrics(ResourceBlocker resourceBlocker){
+        return registry -> {
+            FunctionCounter.builder("playwright.resource.blocked", resourceBlocker, ResourceBlocker::getBrowserBlockedRequests)
+                    .tag("mode", "browser").description("Requests blocked by the browser")
+                    .register(registry);
+            FunctionCounter.builder("playwright.resource.blocked", resourceBlocker, ResourceBlocker::getRouteBlockedRequests)
+                    .tag("mode", "route").description("Requests aborted by routes")
+                    .register(registry);
+        };
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Cache")
+    static class CacheMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(StaticAssetCache.class)
+        public MeterBinder staticAssetCacheMetrics(StaticAssetCache assetCache){
+            return registry -> {
+                FunctionCounter.builder("playwright.asset.cache.requests", assetCache, StaticAssetCache::getHits)
+                        .tag("result", "hit").register(registry);
+                FunctionCounter.builder("playwright.asset.cache.requests", assetCache, StaticAssetCache::getRevalidated)
+                        .tag("result", "revalidated").register(registry);
+                FunctionCounter.builder("playwright.asset.cache.requests", assetCache, StaticAssetCache::getMisses)
+                        .tag("result", "miss").register(registry);
+                FunctionCounter.builder("playwright.asset.cache.served", assetCache, StaticAssetCache::getBytesServed)
+                        .baseUnit("bytes").description("Bytes served from the asset cache instead of the network")
+                        .register(registry);
+                Gauge.builder("playwright.asset.cache.disk", assetCache, StaticAssetCache::getDiskBytes)
+                        .baseUnit("bytes").register(registry);
+            };
+        }
+
+        @Bean
+        @ConditionalOnBean(CaffeineRenderCache.class)
+        public MeterBinder renderCacheMetrics(PlaywrightProperties playwrightProperties, CaffeineRenderCache renderCache){
+            // 命中、未命中、淘汰次数与缓存大小，指标名以 playwright.render 为缓存名
+            return registry -> CaffeineCacheMetrics.monitor(registry, renderCache.getNativeCache(), "playwright.render",
+                    Tags.of("browser.type", String.valueOf(playwrightProperties.getBrowserType())));
+        }
+
+    }
+
+}
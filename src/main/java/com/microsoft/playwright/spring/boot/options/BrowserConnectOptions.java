@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.experimental.Accessors;
 import org.springframework.boot.context.properties.PropertyMapper;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 @Accessors(chain = true)
@@ -24,6 +26,15 @@ public class BrowserConnectOptions {
      * Maximum time in milliseconds to wait for the connection to be established. Defaults to {@code 0} (no timeout).
      */
     public Double timeout = 0.0;
+    /**
+     * Remote browser websocket endpoints started by {@code playwright run-server}, used in {@code remote} browser mode.
+     * Contexts are spread across endpoints by the least number of contexts in flight.
+     */
+    public List<String> wsEndpoints;
+    /**
+     * How long an endpoint is skipped after a failed connect before it is tried again. Defaults to 30 seconds.
+     */
+    public Duration retryInterval = Duration.ofSeconds(30);
 
     public BrowserType.ConnectOptions toOptions() {
         PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
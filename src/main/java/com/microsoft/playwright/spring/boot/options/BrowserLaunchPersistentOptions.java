@@ -5,6 +5,7 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.*;
+import com.microsoft.playwright.spring.boot.pool.ProfileCloneStrategy;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import org.springframework.boot.context.properties.PropertyMapper;
@@ -267,6 +268,18 @@ public class BrowserLaunchPersistentOptions {
      *    * an empty string to use a temporary directory instead.
      */
     public String userDataRootDir = "/tmp";
+    /**
+     * 用户数据目录模板，配置后每个上下文的用户数据目录从该目录复制，启动时即带有缓存及预置状态
+     */
+    public String userDataTemplateDir;
+    /**
+     * 模板复制方式，默认优先写时复制（reflink），不支持时回退为并行复制
+     */
+    public ProfileCloneStrategy templateCloneStrategy = ProfileCloneStrategy.auto;
+    /**
+     * 并行复制模板文件的线程数
+     */
+    public int templateCopyThreads = 4;
     /**
      * Emulates consistent viewport for each page. Defaults to an 1280x720 viewport.  Use {@code null} to disable the
      * consistent viewport emulation. Learn more about <a href="https://playwright.dev/java/docs/emulation#viewport">viewport
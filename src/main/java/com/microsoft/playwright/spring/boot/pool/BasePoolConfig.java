@@ -0,0 +1,82 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import lombok.Data;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.boot.context.properties.PropertyMapper;
+
+import java.time.Duration;
+
+/**
+ * 对象池通用配置，映射为 {@link GenericObjectPoolConfig}
+ */
+@Data
+public class BasePoolConfig {
+
+    private boolean blockWhenExhausted = GenericObjectPoolConfig.DEFAULT_BLOCK_WHEN_EXHAUSTED;
+
+    private Duration durationBetweenEvictionRuns = GenericObjectPoolConfig.DEFAULT_TIME_BETWEEN_EVICTION_RUNS;
+
+    private Duration evictorShutdownTimeoutDuration = GenericObjectPoolConfig.DEFAULT_EVICTOR_SHUTDOWN_TIMEOUT;
+
+    private String evictionPolicyClassName = GenericObjectPoolConfig.DEFAULT_EVICTION_POLICY_CLASS_NAME;
+
+    private boolean fairness = GenericObjectPoolConfig.DEFAULT_FAIRNESS;
+
+    private boolean lifo = GenericObjectPoolConfig.DEFAULT_LIFO;
+
+    private Duration maxWaitDuration = GenericObjectPoolConfig.DEFAULT_MAX_WAIT;
+
+    private int maxTotal = GenericObjectPoolConfig.DEFAULT_MAX_TOTAL;
+
+    private int maxIdle = GenericObjectPoolConfig.DEFAULT_MAX_IDLE;
+
+    private int minIdle = GenericObjectPoolConfig.DEFAULT_MIN_IDLE;
+
+    private Duration minEvictableIdleDuration = GenericObjectPoolConfig. DEFAULT_MIN_EVICTABLE_IDLE_DURATION;
+
+    private Duration softMinEvictableIdleDuration = GenericObjectPoolConfig.DEFAULT_SOFT_MIN_EVICTABLE_IDLE_DURATION;
+
+    private int numTestsPerEvictionRun = GenericObjectPoolConfig.DEFAULT_NUM_TESTS_PER_EVICTION_RUN;
+
+    private boolean testOnCreate = GenericObjectPoolConfig.DEFAULT_TEST_ON_CREATE;
+
+    private boolean testOnBorrow = GenericObjectPoolConfig.DEFAULT_TEST_ON_BORROW;
+
+    private boolean testOnReturn = GenericObjectPoolConfig.DEFAULT_TEST_ON_RETURN;
+
+    private boolean testWhileIdle = GenericObjectPoolConfig.DEFAULT_TEST_WHILE_IDLE;
+
+    /**
+     * 是否将池注册为 JMX MBean
+     */
+    private boolean jmxEnabled = false;
+
+    private String jmxNamePrefix = GenericObjectPoolConfig.DEFAULT_JMX_NAME_PREFIX;
+
+    public <T> GenericObjectPoolConfig<T> toPoolConfig(){
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        GenericObjectPoolConfig<T> poolConfig = new GenericObjectPoolConfig<>();
+        map.from(this.isBlockWhenExhausted()).to(poolConfig::setBlockWhenExhausted);
+        map.from(this.getDurationBetweenEvictionRuns()).whenNonNull().to(poolConfig::setTimeBetweenEvictionRuns);
+        map.from(this.getEvictionPolicyClassName()).whenHasText().to(poolConfig::setEvictionPolicyClassName);
+        map.from(this.getEvictorShutdownTimeoutDuration()).whenNonNull().to(poolConfig::setEvictorShutdownTimeout);
+        map.from(this.isFairness()).to(poolConfig::setFairness);
+        map.from(this.isLifo()).to(poolConfig::setLifo);
+        map.from(this.getMaxWaitDuration()).whenNonNull().to(poolConfig::setMaxWait);
+        map.from(this.getMaxIdle()).to(poolConfig::setMaxIdle);
+        map.from(this.getMaxTotal()).to(poolConfig::setMaxTotal);
+        map.from(this.getMinEvictableIdleDuration()).whenNonNull().to(poolConfig::setMinEvictableIdleTime);
+        map.from(this.getMinIdle()).to(poolConfig::setMinIdle);
+        map.from(this.getNumTestsPerEvictionRun()).to(poolConfig::setNumTestsPerEvictionRun);
+        map.from(this.getSoftMinEvictableIdleDuration()).whenNonNull().to(poolConfig::setSoftMinEvictableIdleTime);
+        map.from(this.isTestOnBorrow()).to(poolConfig::setTestOnBorrow);
+        map.from(this.isTestOnCreate()).to(poolConfig::setTestOnCreate);
+        map.from(this.isTestOnReturn()).to(poolConfig::setTestOnReturn);
+        map.from(this.isTestWhileIdle()).to(poolConfig::setTestWhileIdle);
+        map.from(this.isJmxEnabled()).to(poolConfig::setJmxEnabled);
+        map.from(this.getJmxNamePrefix()).whenHasText().to(poolConfig::setJmxNamePrefix);
+        return poolConfig;
+    }
+
+
+}
@@ -0,0 +1,15 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.BrowserContext;
+
+/**
+ * 上下文创建后、放入池中之前的定制，如注册路由、事件监听、初始化脚本。每个上下文只调用一次，在其所属驱动的工作线程上执行；
+ * 抛出异常时该上下文被销毁，本次创建失败。容器中的实现按 {@link org.springframework.core.Ordered} 顺序注册到上下文池，
+ * 注册路由时注意后注册的路由先执行
+ */
+@FunctionalInterface
+public interface BrowserContextCustomizer {
+
+    void customize(BrowserContext browserContext, BrowserContextInfo info);
+
+}
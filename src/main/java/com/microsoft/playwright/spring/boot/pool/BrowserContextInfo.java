@@ -0,0 +1,86 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.BrowserContext;
+import lombok.Getter;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 池中浏览器上下文的归属信息
+ */
+@Getter
+public class BrowserContextInfo {
+
+    private static final AtomicLong CONTEXT_INDEX = new AtomicLong(0);
+
+    private final long id;
+    private final BrowserContext browserContext;
+    /**
+     * 上下文所在的浏览器
+     */
+    private final PlaywrightBrowser browser;
+    /**
+     * 持久化模式下的用户数据目录
+     */
+    private final File userDataDir;
+    private final long createdAt;
+    /**
+     * 退役时间点及最大借出次数，已按退役策略加入随机抖动
+     */
+    private final long expiresAt;
+    private final int maxUses;
+    /**
+     * 已借出次数
+     */
+    private final AtomicInteger uses = new AtomicInteger(0);
+    /**
+     * 被手动驱逐，下次借出或归还时销毁
+     */
+    private volatile boolean evicted = false;
+
+    public BrowserContextInfo(BrowserContext browserContext, PlaywrightBrowser browser, File userDataDir) {
+        this(browserContext, browser, userDataDir, RetirementPolicy.NONE);
+    }
+
+    public BrowserContextInfo(BrowserContext browserContext, PlaywrightBrowser browser, File userDataDir, RetirementPolicy retirementPolicy) {
+        this.id = CONTEXT_INDEX.incrementAndGet();
+        this.browserContext = browserContext;
+        this.browser = browser;
+        this.userDataDir = userDataDir;
+        this.createdAt = System.currentTimeMillis();
+        this.expiresAt = retirementPolicy.expiresAt(createdAt);
+        this.maxUses = retirementPolicy.maxUses();
+    }
+
+    public int getUses() {
+        return uses.get();
+    }
+
+    /**
+     * 记录一次借出
+     */
+    int markUsed() {
+        return uses.incrementAndGet();
+    }
+
+    /**
+     * 驱逐上下文：空闲时在下次借出或校验时销毁，使用中时在归还时销毁
+     */
+    public void evict() {
+        this.evicted = true;
+    }
+
+    /**
+     * 上下文是否应当退役：手动驱逐，自身存活时长或借出次数达到上限，或所在浏览器已过期
+     */
+    public boolean isRetired() {
+        return evicted || System.currentTimeMillis() >= expiresAt || uses.get() >= maxUses || browser.isExpired();
+    }
+
+    public PlaywrightDriver getDriver() {
+        return browser.getDriver();
+    }
+
+}
@@ -1,24 +1,540 @@
 package com.microsoft.playwright.spring.boot.pool;
 
 import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.DestroyMode;
+import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.AbandonedConfig;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
 @Slf4j
 public class BrowserContextPool extends GenericObjectPool<BrowserContext> {
 
+    /**
+     * 可取消借出时每段等待的最长时间，即取消后最迟多久放弃等待
+     */
+    public static final Duration BORROW_CHECK_INTERVAL = Duration.ofMillis(100);
+    /**
+     * 后台创建连续失败时的最短、最长退避时间
+     */
+    public static final Duration CREATION_BACKOFF_MIN = Duration.ofMillis(500);
+    public static final Duration CREATION_BACKOFF_MAX = Duration.ofSeconds(30);
+    /**
+     * 标记当前线程正在借出上下文，此时池不在该线程上创建上下文，而是交给后台创建线程
+     */
+    private static final ThreadLocal<Boolean> BORROWING = new ThreadLocal<>();
+
+    private final PooledObjectFactory<BrowserContext> delegate;
+    private final List<BrowserContextPoolListener> listeners;
+    /**
+     * 后台创建上下文的线程池，为 {@code null} 时借出线程直接创建上下文
+     */
+    private volatile ExecutorService creationExecutor;
+    /**
+     * 已提交但尚未完成的创建任务数量
+     */
+    private final AtomicInteger pendingCreations = new AtomicInteger(0);
+    /**
+     * 正在等待上下文的借出线程数量
+     */
+    private final AtomicInteger waiters = new AtomicInteger(0);
+    /**
+     * 正在等待后台创建或其他线程归还的借出线程数量
+     */
+    private final AtomicInteger awaiting = new AtomicInteger(0);
+    /**
+     * 后台创建失败的累计次数，借出线程据此判断等待期间是否有创建失败
+     */
+    private final AtomicLong creationFailures = new AtomicLong(0);
+    /**
+     * 连续创建失败的次数，用于计算下一次后台创建前的退避时间，创建成功后清零
+     */
+    private final AtomicInteger consecutiveCreationFailures = new AtomicInteger(0);
+    /**
+     * 最近一次后台创建失败的异常，转交给等待该次创建的借出线程
+     */
+    private volatile Exception lastCreationFailure;
+    /**
+     * 下一次允许后台创建的时间（System.nanoTime），连续失败时按指数退避
+     */
+    private volatile long creationRetryAt = System.nanoTime();
+    /**
+     * 每当有上下文被归还、创建完成或销毁时递增，用于唤醒等待的借出线程。
+     * 使用 Lock 而不是对象监视器，虚拟线程等待时不会占住载体线程
+     */
+    private final Lock availableLock = new ReentrantLock();
+    private final Condition availableCondition = availableLock.newCondition();
+    private long availableVersion = 0L;
+
     public BrowserContextPool(PooledObjectFactory<BrowserContext> factory) {
-        super(factory);
+        this(new DeferrableFactory(factory));
     }
 
     public BrowserContextPool(PooledObjectFactory<BrowserContext> factory, GenericObjectPoolConfig<BrowserContext> config) {
-        super(factory, config);
+        this(new DeferrableFactory(factory), config);
     }
 
     public BrowserContextPool(PooledObjectFactory<BrowserContext> factory, GenericObjectPoolConfig<BrowserContext> config, AbandonedConfig abandonedConfig) {
+        this(new DeferrableFactory(factory), config, abandonedConfig);
+    }
+
+    private BrowserContextPool(DeferrableFactory factory) {
+        super(factory);
+        this.delegate = factory.delegate;
+        this.listeners = factory.listeners;
+    }
+
+    private BrowserContextPool(DeferrableFactory factory, GenericObjectPoolConfig<BrowserContext> config) {
+        super(factory, config);
+        this.delegate = factory.delegate;
+        this.listeners = factory.listeners;
+    }
+
+    private BrowserContextPool(DeferrableFactory factory, GenericObjectPoolConfig<BrowserContext> config, AbandonedConfig abandonedConfig) {
         super(factory, config, abandonedConfig);
+        this.delegate = factory.delegate;
+        this.listeners = factory.listeners;
+    }
+
+    /**
+     * 设置后台创建上下文的并发数，小于等于 0 时由借出线程直接创建（commons-pool 默认行为）
+     */
+    public void setCreationConcurrency(int creationConcurrency) {
+        ExecutorService previous = this.creationExecutor;
+        this.creationExecutor = creationConcurrency > 0 ? ThreadUtils.newThreadPoolExecutor(creationConcurrency, creationConcurrency,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), "playwright-context-creator", true) : null;
+        if (Objects.nonNull(previous)) {
+            previous.shutdown();
+        }
+    }
+
+    @Override
+    public PooledObjectFactory<BrowserContext> getFactory() {
+        return delegate;
+    }
+
+    public void addListener(BrowserContextPoolListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BrowserContextPoolListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 等待上下文的借出线程数量，包括等待后台创建的线程
+     */
+    @Override
+    public int getNumWaiters() {
+        return super.getNumWaiters() + awaiting.get();
+    }
+
+    /**
+     * 池需要扩容时不在借出线程上创建上下文：创建任务提交到后台线程，借出线程等待最先可用的上下文，
+     * 无论它是新创建的还是其他线程归还的
+     */
+    @Override
+    public BrowserContext borrowObject(Duration borrowMaxWaitDuration) throws Exception {
+        long start = System.nanoTime();
+        try {
+            BrowserContext browserContext = doBorrowObject(borrowMaxWaitDuration);
+            long waitNanos = System.nanoTime() - start;
+            listeners.forEach(listener -> listener.onBorrow(browserContext, waitNanos));
+            return browserContext;
+        } catch (Exception e) {
+            long waitNanos = System.nanoTime() - start;
+            listeners.forEach(listener -> listener.onBorrowFailure(e, waitNanos));
+            throw e;
+        }
+    }
+
+    /**
+     * 可取消的借出：以不超过 {@link #BORROW_CHECK_INTERVAL} 的分段等待，每段结束时检查 cancelled，
+     * 已取消时抛出 {@link CancellationException}；取消后才借到的上下文会立即归还
+     * @param borrowMaxWaitDuration 最长等待时间，为负数时一直等待直到借到或被取消
+     * @param cancelled 是否已取消
+     */
+    public BrowserContext borrowObject(Duration borrowMaxWaitDuration, BooleanSupplier cancelled) throws Exception {
+        if (!getBlockWhenExhausted()) {
+            return borrowObject(borrowMaxWaitDuration);
+        }
+        long start = System.nanoTime();
+        long deadline = borrowMaxWaitDuration.isNegative() ? Long.MAX_VALUE : start + borrowMaxWaitDuration.toNanos();
+        try {
+            while (true) {
+                if (cancelled.getAsBoolean()) {
+                    throw new CancellationException("Borrow BrowserContext cancelled");
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    throw new NoSuchElementException("Timeout waiting for idle object, borrowMaxWaitDuration=" + borrowMaxWaitDuration);
+                }
+                BrowserContext browserContext;
+                try {
+                    browserContext = doBorrowObject(Duration.ofNanos(Math.min(remaining, BORROW_CHECK_INTERVAL.toNanos())));
+                } catch (NoSuchElementException e) {
+                    continue;
+                }
+                if (cancelled.getAsBoolean()) {
+                    returnObject(browserContext);
+                    throw new CancellationException("Borrow BrowserContext cancelled");
+                }
+                long waitNanos = System.nanoTime() - start;
+                listeners.forEach(listener -> listener.onBorrow(browserContext, waitNanos));
+                return browserContext;
+            }
+        } catch (Exception e) {
+            long waitNanos = System.nanoTime() - start;
+            listeners.forEach(listener -> listener.onBorrowFailure(e, waitNanos));
+            throw e;
+        }
+    }
+
+    private BrowserContext doBorrowObject(Duration borrowMaxWaitDuration) throws Exception {
+        if (Objects.isNull(creationExecutor) || !getBlockWhenExhausted() || Boolean.TRUE.equals(BORROWING.get())) {
+            return super.borrowObject(borrowMaxWaitDuration);
+        }
+        long deadline = borrowMaxWaitDuration.isNegative() ? Long.MAX_VALUE : System.nanoTime() + borrowMaxWaitDuration.toNanos();
+        long failures = creationFailures.get();
+        waiters.incrementAndGet();
+        try {
+            while (true) {
+                long version = getAvailableVersion();
+                BORROWING.set(Boolean.TRUE);
+                try {
+                    return super.borrowObject(deadline == Long.MAX_VALUE ? borrowMaxWaitDuration
+                            : Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+                } catch (CreationDeferredException e) {
+                    if (creationFailures.get() != failures) {
+                        throw new PlaywrightException("Create BrowserContext error", lastCreationFailure);
+                    }
+                    requestCreation();
+                } finally {
+                    BORROWING.remove();
+                }
+                if (!awaitAvailable(version, deadline)) {
+                    throw new NoSuchElementException("Timeout waiting for idle object, borrowMaxWaitDuration=" + borrowMaxWaitDuration);
+                }
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * 归还上下文，达到存活时长或使用次数上限、或重置策略为 recreate 的上下文直接销毁
+     */
+    @Override
+    public void returnObject(BrowserContext browserContext) {
+        long start = System.nanoTime();
+        boolean reusable = isReusable(browserContext);
+        try {
+            if (reusable) {
+                super.returnObject(browserContext);
+                return;
+            }
+            log.info("Retire BrowserContext Instance '{}'.", browserContext);
+            try {
+                invalidateObject(browserContext);
+            } catch (Exception e) {
+                log.error("Retire BrowserContext Instance '{}' Error.", browserContext, e);
+            }
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            listeners.forEach(listener -> listener.onReturn(browserContext, !reusable, durationNanos));
+            signalAvailable();
+        }
+    }
+
+    @Override
+    public void invalidateObject(BrowserContext browserContext, DestroyMode destroyMode) throws Exception {
+        try {
+            super.invalidateObject(browserContext, destroyMode);
+        } finally {
+            signalAvailable();
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        ExecutorService executor = this.creationExecutor;
+        if (Objects.nonNull(executor)) {
+            executor.shutdownNow();
+        }
+        signalAvailable();
+    }
+
+    /**
+     * 按等待的借出线程数量提交创建任务，已提交的任务与池中对象之和不超过 maxTotal
+     */
+    private void requestCreation() {
+        ExecutorService executor = this.creationExecutor;
+        if (Objects.isNull(executor)) {
+            return;
+        }
+        int maxTotal = getMaxTotal() < 0 ? Integer.MAX_VALUE : getMaxTotal();
+        while (true) {
+            int pending = pendingCreations.get();
+            if (pending >= waiters.get() || (long) getNumActive() + getNumIdle() + pending >= maxTotal) {
+                return;
+            }
+            if (pendingCreations.compareAndSet(pending, pending + 1)) {
+                break;
+            }
+        }
+        try {
+            executor.execute(this::createInBackground);
+        } catch (RejectedExecutionException e) {
+            pendingCreations.decrementAndGet();
+            signalAvailable();
+        }
+    }
+
+    /**
+     * 在后台线程上创建上下文；连续失败时先退避再创建，失败的异常通过 {@link #lastCreationFailure} 交给等待的借出线程
+     */
+    private void createInBackground() {
+        try {
+            long delay = creationRetryAt - System.nanoTime();
+            if (delay > 0L) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+            addObject();
+            consecutiveCreationFailures.set(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            int failures = consecutiveCreationFailures.incrementAndGet();
+            long backoff = Math.min(CREATION_BACKOFF_MAX.toNanos(), CREATION_BACKOFF_MIN.toNanos() << Math.min(failures - 1, 16));
+            creationRetryAt = System.nanoTime() + backoff;
+            lastCreationFailure = e;
+            creationFailures.incrementAndGet();
+            log.error("Create BrowserContext Instance In Background Error, consecutive failures : {}, retry after {} ms.",
+                    failures, TimeUnit.NANOSECONDS.toMillis(backoff), e);
+        } finally {
+            pendingCreations.decrementAndGet();
+            signalAvailable();
+        }
     }
+
+    private long getAvailableVersion() {
+        availableLock.lock();
+        try {
+            return availableVersion;
+        } finally {
+            availableLock.unlock();
+        }
+    }
+
+    private void signalAvailable() {
+        availableLock.lock();
+        try {
+            availableVersion++;
+            availableCondition.signalAll();
+        } finally {
+            availableLock.unlock();
+        }
+    }
+
+    private boolean awaitAvailable(long version, long deadline) throws InterruptedException {
+        awaiting.incrementAndGet();
+        try {
+            availableLock.lock();
+            try {
+                while (availableVersion == version) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    availableCondition.awaitNanos(remaining);
+                }
+                return true;
+            } finally {
+                availableLock.unlock();
+            }
+        } finally {
+            awaiting.decrementAndGet();
+        }
+    }
+
+    private boolean isReusable(BrowserContext browserContext) {
+        PooledObjectFactory<BrowserContext> factory = getFactory();
+        return !(factory instanceof BrowserContextPooledObjectFactory)
+                || ((BrowserContextPooledObjectFactory) factory).isReusable(browserContext);
+    }
+
+    /**
+     * 上下文是否已达到退役条件
+     */
+    public boolean isRetired(BrowserContext browserContext) {
+        PooledObjectFactory<BrowserContext> factory = getFactory();
+        return factory instanceof BrowserContextPooledObjectFactory
+                && ((BrowserContextPooledObjectFactory) factory).isRetired(browserContext);
+    }
+
+    /**
+     * 获取上下文所属的 Playwright 驱动，非 {@link BrowserContextPooledObjectFactory} 创建的上下文返回 {@code null}
+     */
+    public PlaywrightDriver getDriver(BrowserContext browserContext) {
+        PooledObjectFactory<BrowserContext> factory = getFactory();
+        if (factory instanceof BrowserContextPooledObjectFactory) {
+            return ((BrowserContextPooledObjectFactory) factory).getDriver(browserContext);
+        }
+        return null;
+    }
+
+    /**
+     * 借出一个上下文，在其所属驱动的工作线程上执行任务，完成后归还上下文。
+     * 共享驱动的上下文（browsers-per-driver / contexts-per-browser 大于 1）必须通过该方法使用
+     * @param task 使用上下文的任务
+     * @return 任务结果
+     */
+    public <T> CompletableFuture<T> submit(Function<BrowserContext, T> task) {
+        final BrowserContext browserContext;
+        try {
+            browserContext = borrowObject();
+        } catch (Exception e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return submit(browserContext, () -> task.apply(browserContext))
+                .whenComplete((result, throwable) -> returnObjectQuietly(browserContext));
+    }
+
+    /**
+     * 同步执行 {@link #submit(Function)}
+     */
+    public <T> T execute(Function<BrowserContext, T> task) {
+        return PlaywrightDriver.join(submit(task));
+    }
+
+    /**
+     * 在已借出上下文所属驱动的工作线程上执行任务
+     */
+    public <T> CompletableFuture<T> submit(BrowserContext browserContext, Callable<T> task) {
+        PlaywrightDriver driver = getDriver(browserContext);
+        if (Objects.nonNull(driver)) {
+            return driver.submit(task);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(task.call());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void returnObjectQuietly(BrowserContext browserContext) {
+        try {
+            returnObject(browserContext);
+        } catch (Exception e) {
+            log.error("Return BrowserContext Instance '{}' Error.", browserContext, e);
+        }
+    }
+
+    /**
+     * 借出线程上调用 makeObject 时抛出，由 {@link #borrowObject(Duration)} 捕获并转为后台创建
+     */
+    private static final class CreationDeferredException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        CreationDeferredException() {
+            super("BrowserContext creation deferred to background executor", null, false, false);
+        }
+
+    }
+
+    /**
+     * 包装对象工厂：借出线程上的创建请求被推迟到后台线程执行，并向监听器报告创建、销毁与校验事件
+     */
+    private static final class DeferrableFactory implements PooledObjectFactory<BrowserContext> {
+
+        private static final CreationDeferredException DEFERRED = new CreationDeferredException();
+
+        private final PooledObjectFactory<BrowserContext> delegate;
+        private final List<BrowserContextPoolListener> listeners = new CopyOnWriteArrayList<>();
+
+        DeferrableFactory(PooledObjectFactory<BrowserContext> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public PooledObject<BrowserContext> makeObject() throws Exception {
+            if (Boolean.TRUE.equals(BORROWING.get())) {
+                throw DEFERRED;
+            }
+            long start = System.nanoTime();
+            try {
+                PooledObject<BrowserContext> p = delegate.makeObject();
+                long durationNanos = System.nanoTime() - start;
+                listeners.forEach(listener -> listener.onCreate(p.getObject(), durationNanos));
+                return p;
+            } catch (Exception e) {
+                long durationNanos = System.nanoTime() - start;
+                listeners.forEach(listener -> listener.onCreateFailure(e, durationNanos));
+                throw e;
+            }
+        }
+
+        @Override
+        public void activateObject(PooledObject<BrowserContext> p) throws Exception {
+            delegate.activateObject(p);
+        }
+
+        @Override
+        public void passivateObject(PooledObject<BrowserContext> p) throws Exception {
+            delegate.passivateObject(p);
+        }
+
+        @Override
+        public void destroyObject(PooledObject<BrowserContext> p) throws Exception {
+            destroyObject(p, DestroyMode.NORMAL);
+        }
+
+        @Override
+        public void destroyObject(PooledObject<BrowserContext> p, DestroyMode destroyMode) throws Exception {
+            long start = System.nanoTime();
+            try {
+                delegate.destroyObject(p, destroyMode);
+            } finally {
+                long durationNanos = System.nanoTime() - start;
+                listeners.forEach(listener -> listener.onDestroy(p.getObject(), durationNanos));
+            }
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<BrowserContext> p) {
+            long start = System.nanoTime();
+            boolean valid = delegate.validateObject(p);
+            long durationNanos = System.nanoTime() - start;
+            listeners.forEach(listener -> listener.onValidate(p.getObject(), valid, durationNanos));
+            if (!valid) {
+                listeners.forEach(listener -> listener.onValidationFailure(p.getObject()));
+            }
+            return valid;
+        }
+
+    }
+
 }
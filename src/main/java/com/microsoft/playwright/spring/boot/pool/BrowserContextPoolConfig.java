@@ -1,70 +1,95 @@
 package com.microsoft.playwright.spring.boot.pool;
 
 import lombok.Data;
-import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
-import org.springframework.boot.context.properties.PropertyMapper;
+import lombok.EqualsAndHashCode;
 
 import java.time.Duration;
 
 @Data
-public class BrowserContextPoolConfig {
-
-    private boolean blockWhenExhausted = GenericObjectPoolConfig.DEFAULT_BLOCK_WHEN_EXHAUSTED;
-
-    private Duration durationBetweenEvictionRuns = GenericObjectPoolConfig.DEFAULT_TIME_BETWEEN_EVICTION_RUNS;
-
-    private Duration evictorShutdownTimeoutDuration = GenericObjectPoolConfig.DEFAULT_EVICTOR_SHUTDOWN_TIMEOUT;
-
-    private String evictionPolicyClassName = GenericObjectPoolConfig.DEFAULT_EVICTION_POLICY_CLASS_NAME;
-
-    private boolean fairness = GenericObjectPoolConfig.DEFAULT_FAIRNESS;
-
-    private boolean lifo = GenericObjectPoolConfig.DEFAULT_LIFO;
-
-    private Duration maxWaitDuration = GenericObjectPoolConfig.DEFAULT_MAX_WAIT;
-
-    private int maxTotal = GenericObjectPoolConfig.DEFAULT_MAX_TOTAL;
-
-    private int maxIdle = GenericObjectPoolConfig.DEFAULT_MAX_IDLE;
-
-    private int minIdle = GenericObjectPoolConfig.DEFAULT_MIN_IDLE;
-
-    private Duration minEvictableIdleDuration = GenericObjectPoolConfig. DEFAULT_MIN_EVICTABLE_IDLE_DURATION;
-
-    private Duration softMinEvictableIdleDuration = GenericObjectPoolConfig.DEFAULT_SOFT_MIN_EVICTABLE_IDLE_DURATION;
-
-    private int numTestsPerEvictionRun = GenericObjectPoolConfig.DEFAULT_NUM_TESTS_PER_EVICTION_RUN;
-
-    private boolean testOnCreate = GenericObjectPoolConfig.DEFAULT_TEST_ON_CREATE;
-
-    private boolean testOnBorrow = GenericObjectPoolConfig.DEFAULT_TEST_ON_BORROW;
-
-    private boolean testOnReturn = GenericObjectPoolConfig.DEFAULT_TEST_ON_RETURN;
-
-    private boolean testWhileIdle = GenericObjectPoolConfig.DEFAULT_TEST_WHILE_IDLE;
-
-    public GenericObjectPoolConfig toPoolConfig(){
-        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
-        GenericObjectPoolConfig poolConfig = new GenericObjectPoolConfig();
-        map.from(this.isBlockWhenExhausted()).to(poolConfig::setBlockWhenExhausted);
-        map.from(this.getDurationBetweenEvictionRuns()).whenNonNull().to(poolConfig::setTimeBetweenEvictionRuns);
-        map.from(this.getEvictionPolicyClassName()).whenHasText().to(poolConfig::setEvictionPolicyClassName);
-        map.from(this.getEvictorShutdownTimeoutDuration()).whenNonNull().to(poolConfig::setEvictorShutdownTimeout);
-        map.from(this.isFairness()).to(poolConfig::setFairness);
-        map.from(this.isLifo()).to(poolConfig::setLifo);
-        map.from(this.getMaxWaitDuration()).whenNonNull().to(poolConfig::setMaxWait);
-        map.from(this.getMaxIdle()).to(poolConfig::setMaxIdle);
-        map.from(this.getMaxTotal()).to(poolConfig::setMaxTotal);
-        map.from(this.getMinEvictableIdleDuration()).whenNonNull().to(poolConfig::setMinEvictableIdleTime);
-        map.from(this.getMinIdle()).to(poolConfig::setMinIdle);
-        map.from(this.getNumTestsPerEvictionRun()).to(poolConfig::setNumTestsPerEvictionRun);
-        map.from(this.getSoftMinEvictableIdleDuration()).whenNonNull().to(poolConfig::setSoftMinEvictableIdleTime);
-        map.from(this.isTestOnBorrow()).to(poolConfig::setTestOnBorrow);
-        map.from(this.isTestOnCreate()).to(poolConfig::setTestOnCreate);
-        map.from(this.isTestOnReturn()).to(poolConfig::setTestOnReturn);
-        map.from(this.isTestWhileIdle()).to(poolConfig::setTestWhileIdle);
-        return poolConfig;
+@EqualsAndHashCode(callSuper = true)
+public class BrowserContextPoolConfig extends BasePoolConfig {
+
+    /**
+     * 单个 Playwright 驱动（Node 进程）最多启动的浏览器数量
+     */
+    private int browsersPerDriver = 1;
+
+    /**
+     * 单个浏览器进程最多打开的上下文数量，持久化模式下不生效
+     */
+    private int contextsPerBrowser = 1;
+
+    /**
+     * 每个驱动工作线程的任务队列容量，队列满时新任务直接失败
+     */
+    private int driverQueueCapacity = PlaywrightDriver.DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * 池扩容时后台并行创建上下文的线程数，借出线程只等待可用上下文；小于等于 0 时由借出线程直接创建
+     */
+    private int creationConcurrency = 2;
+
+    /**
+     * 上下文归还时的重置策略：cookies（默认）、storage、recreate
+     */
+    private ContextResetStrategy resetStrategy = ContextResetStrategy.cookies;
+
+    /**
+     * 上下文最大存活时长，到期后在归还时销毁；为空时不限制
+     */
+    private Duration maxLifetime;
+
+    /**
+     * 上下文最大借出次数，达到后在归还时销毁；不大于 0 时不限制
+     */
+    private int maxUses = 0;
+
+    /**
+     * 浏览器进程最大存活时长，到期后不再分配新上下文，其上的上下文归还时退役，全部退役后关闭浏览器；为空时不限制
+     */
+    private Duration browserMaxLifetime;
+
+    /**
+     * 单个浏览器进程累计创建的最大上下文数量，达到后不再分配新上下文；不大于 0 时不限制
+     */
+    private int browserMaxUses = 0;
+
+    /**
+     * 退役阈值的随机下调比例，避免同一批次创建的对象同时退役
+     */
+    private double retirementJitter = 0.1D;
+
+    /**
+     * 健康检查中借出等待时间（近期指数移动平均）的阈值，超过时为 DOWN
+     */
+    private Duration healthBorrowWaitThreshold = Duration.ofSeconds(5);
+
+    /**
+     * 启动时是否在后台预热 minIdle 个上下文
+     */
+    private boolean prewarm = true;
+
+    /**
+     * 预热时并行创建上下文的线程数
+     */
+    private int prewarmConcurrency = 2;
+
+    /**
+     * 是否在预热达到 readinessWarmLevel 之前保持应用为 REFUSING_TRAFFIC 状态
+     */
+    private boolean readinessGate = false;
+
+    /**
+     * 应用就绪所需的预热上下文数量，小于 0 时取 minIdle；预热会创建 max(minIdle, readinessWarmLevel) 个上下文，超过 maxTotal 时按 maxTotal 计
+     */
+    private int readinessWarmLevel = -1;
+
+    public RetirementPolicy toContextRetirement() {
+        return new RetirementPolicy(maxLifetime, maxUses, retirementJitter);
     }
 
+    public RetirementPolicy toBrowserRetirement() {
+        return new RetirementPolicy(browserMaxLifetime, browserMaxUses, retirementJitter);
+    }
 
 }
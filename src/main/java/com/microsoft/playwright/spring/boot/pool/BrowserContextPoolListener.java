@@ -0,0 +1,76 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.BrowserContext;
+
+/**
+ * {@link BrowserContextPool} 生命周期事件监听器，用于接入指标、追踪等观测手段。
+ * 回调在池的调用线程上同步执行，实现应当足够轻量且不抛出异常
+ */
+public interface BrowserContextPoolListener {
+
+    /**
+     * 借出成功
+     * @param browserContext 借出的上下文
+     * @param waitNanos 借出等待时长（纳秒）
+     */
+    default void onBorrow(BrowserContext browserContext, long waitNanos) {
+    }
+
+    /**
+     * 借出失败（等待超时、池已关闭或创建失败）
+     * @param cause 失败原因
+     * @param waitNanos 借出等待时长（纳秒）
+     */
+    default void onBorrowFailure(Throwable cause, long waitNanos) {
+    }
+
+    /**
+     * 上下文已归还
+     * @param browserContext 归还的上下文
+     * @param retired 是否因退役被销毁而不是放回池中
+     * @param durationNanos 归还耗时（含重置或销毁，纳秒）
+     */
+    default void onReturn(BrowserContext browserContext, boolean retired, long durationNanos) {
+    }
+
+    /**
+     * 上下文创建完成
+     * @param browserContext 新建的上下文
+     * @param durationNanos makeObject 耗时（纳秒）
+     */
+    default void onCreate(BrowserContext browserContext, long durationNanos) {
+    }
+
+    /**
+     * 上下文创建失败
+     * @param cause 失败原因
+     * @param durationNanos makeObject 耗时（纳秒）
+     */
+    default void onCreateFailure(Throwable cause, long durationNanos) {
+    }
+
+    /**
+     * 上下文已销毁
+     * @param browserContext 销毁的上下文
+     * @param durationNanos destroyObject 耗时（纳秒）
+     */
+    default void onDestroy(BrowserContext browserContext, long durationNanos) {
+    }
+
+    /**
+     * 上下文已校验
+     * @param browserContext 校验的上下文
+     * @param valid 是否通过
+     * @param durationNanos validateObject 耗时（纳秒）
+     */
+    default void onValidate(BrowserContext browserContext, boolean valid, long durationNanos) {
+    }
+
+    /**
+     * 上下文校验未通过，随后会被销毁
+     * @param browserContext 校验失败的上下文
+     */
+    default void onValidationFailure(BrowserContext browserContext) {
+    }
+
+}
@@ -1,30 +1,43 @@
 package com.microsoft.playwright.spring.boot.pool;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
 import com.microsoft.playwright.spring.boot.utils.PlaywrightUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 public class BrowserContextPooledObjectFactory implements PooledObjectFactory<BrowserContext>, AutoCloseable {
 
+    private static final Pattern STORAGE_ORIGIN_PATTERN = Pattern.compile("\"origin\"\\s*:\\s*\"([^\"]+)\"");
+
     /**
-     * Playwright管理容器
+     * Playwright 驱动管理容器：驱动 -> 浏览器 -> 上下文
      */
-    private static final Map<BrowserContext, Playwright> PLAYWRIGHT_MAP = new ConcurrentHashMap<>();
-    private static final Map<BrowserContext, File> USER_DATA_DIR_MAP = new ConcurrentHashMap<>();
+    private final List<PlaywrightDriver> drivers = new CopyOnWriteArrayList<>();
+    private final Map<BrowserContext, BrowserContextInfo> contextInfos = new ConcurrentHashMap<>();
+    private final Lock allocationLock = new ReentrantLock();
     /**
      * 浏览器类型
      */
@@ -42,6 +55,49 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
      */
     private BrowserType.LaunchPersistentContextOptions launchPersistentOptions;
     private String userDataRootDir;
+    /**
+     * 持久化模式下的用户数据目录模板
+     */
+    private ProfileTemplate profileTemplate;
+    /**
+     * 持久化模式下用户数据目录的后台回收器
+     */
+    private UserDataDirReaper userDataDirReaper;
+    /**
+     * 远程模式连接浏览器参数及服务端点
+     */
+    private BrowserType.ConnectOptions connectOptions;
+    private final List<BrowserEndpoint> endpoints = new CopyOnWriteArrayList<>();
+    /**
+     * 远程端点连接失败后暂停分配的时长
+     */
+    private Duration endpointRetryInterval = Duration.ofSeconds(30);
+    /**
+     * 单个 Playwright 驱动最多启动的浏览器数量
+     */
+    private int browsersPerDriver = 1;
+    /**
+     * 单个浏览器最多打开的上下文数量（持久化模式下固定为 1）
+     */
+    private int contextsPerBrowser = 1;
+    /**
+     * 驱动工作线程的任务队列容量
+     */
+    private int driverQueueCapacity = PlaywrightDriver.DEFAULT_QUEUE_CAPACITY;
+    /**
+     * 上下文及浏览器的退役策略
+     */
+    private RetirementPolicy contextRetirement = RetirementPolicy.NONE;
+    private RetirementPolicy browserRetirement = RetirementPolicy.NONE;
+    /**
+     * 上下文归还时的重置策略
+     */
+    private ContextResetStrategy resetStrategy = ContextResetStrategy.cookies;
+    /**
+     * 上下文创建后的定制
+     */
+    private final List<BrowserContextCustomizer> customizers = new CopyOnWriteArrayList<>();
+
     public BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType browserType,
                                              BrowserType.LaunchOptions launchOptions,
                                              Browser.NewContextOptions newContextOptions) {
@@ -74,10 +130,151 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
         } else {
             this.userDataRootDir = System.getProperty("java.io.tmpdir");
         }
+        this.userDataDirReaper = new UserDataDirReaper(new File(this.userDataRootDir));
+    }
+
+    public BrowserContextPooledObjectFactory(PlaywrightProperties.BrowserType browserType,
+                                             List<String> wsEndpoints,
+                                             BrowserType.ConnectOptions connectOptions,
+                                             Browser.NewContextOptions newContextOptions) {
+        if (Objects.nonNull(browserType)) {
+            this.browserType = browserType;
+        }
+        if (CollectionUtils.isEmpty(wsEndpoints)) {
+            throw new IllegalArgumentException("wsEndpoints must not be empty in remote mode");
+        }
+        wsEndpoints.stream().filter(StringUtils::hasText).distinct().map(BrowserEndpoint::new).forEach(endpoints::add);
+        if (Objects.nonNull(connectOptions)) {
+            this.connectOptions = connectOptions;
+        } else {
+            this.connectOptions = new BrowserType.ConnectOptions();
+        }
+        if (Objects.nonNull(newContextOptions)) {
+            this.newContextOptions = newContextOptions;
+        }
+    }
+
+    public void setProfileTemplate(ProfileTemplate profileTemplate) {
+        this.profileTemplate = profileTemplate;
+    }
+
+    public void setEndpointRetryInterval(Duration endpointRetryInterval) {
+        if (Objects.nonNull(endpointRetryInterval)) {
+            this.endpointRetryInterval = endpointRetryInterval;
+        }
+    }
+
+    public List<BrowserEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public boolean isRemote() {
+        return !endpoints.isEmpty();
+    }
+
+    public void setBrowsersPerDriver(int browsersPerDriver) {
+        this.browsersPerDriver = Math.max(1, browsersPerDriver);
+    }
+
+    public void setContextsPerBrowser(int contextsPerBrowser) {
+        this.contextsPerBrowser = Math.max(1, contextsPerBrowser);
+    }
+
+    public void setDriverQueueCapacity(int driverQueueCapacity) {
+        this.driverQueueCapacity = Math.max(1, driverQueueCapacity);
+    }
+
+    public void setContextRetirement(RetirementPolicy contextRetirement) {
+        if (Objects.nonNull(contextRetirement)) {
+            this.contextRetirement = contextRetirement;
+        }
+    }
+
+    public void setBrowserRetirement(RetirementPolicy browserRetirement) {
+        if (Objects.nonNull(browserRetirement)) {
+            this.browserRetirement = browserRetirement;
+        }
+    }
+
+    public void setResetStrategy(ContextResetStrategy resetStrategy) {
+        if (Objects.nonNull(resetStrategy)) {
+            this.resetStrategy = resetStrategy;
+        }
+    }
+
+    public void addCustomizer(BrowserContextCustomizer customizer) {
+        if (Objects.nonNull(customizer)) {
+            this.customizers.add(customizer);
+        }
+    }
+
+    public List<BrowserContextCustomizer> getCustomizers() {
+        return customizers;
+    }
+
+    public ContextResetStrategy getResetStrategy() {
+        return resetStrategy;
+    }
+
+    public List<PlaywrightDriver> getDrivers() {
+        return drivers;
+    }
+
+    public BrowserContextInfo getContextInfo(BrowserContext browserContext) {
+        return Objects.isNull(browserContext) ? null : contextInfos.get(browserContext);
+    }
+
+    public Collection<BrowserContextInfo> getContextInfos() {
+        return Collections.unmodifiableCollection(contextInfos.values());
+    }
+
+    public BrowserContextInfo findContextInfo(long contextId) {
+        return contextInfos.values().stream().filter(info -> info.getId() == contextId).findFirst().orElse(null);
+    }
+
+    public PlaywrightBrowser findBrowser(int browserId) {
+        return drivers.stream().flatMap(driver -> driver.getBrowsers().stream())
+                .filter(browser -> browser.getId() == browserId).findFirst().orElse(null);
+    }
+
+    /**
+     * 查询本地启动的 Chromium 浏览器进程号（CDP SystemInfo.getProcessInfo），其他情况返回 {@code null}
+     */
+    public Long getBrowserProcessId(PlaywrightBrowser browser) {
+        if (Objects.nonNull(browser.getProcessId()) || browserType != PlaywrightProperties.BrowserType.chromium
+                || isRemote() || browser.isLaunching() || !browser.isConnected()) {
+            return browser.getProcessId();
+        }
+        Browser instance = browser.getBrowser();
+        if (Objects.isNull(instance)) {
+            return null;
+        }
+        try {
+            Long processId = browser.getDriver().execute(() -> {
+                CDPSession session = instance.newBrowserCDPSession();
+                try {
+                    JsonObject result = session.send("SystemInfo.getProcessInfo");
+                    for (JsonElement process : result.getAsJsonArray("processInfo")) {
+                        JsonObject info = process.getAsJsonObject();
+                        if ("browser".equals(info.get("type").getAsString())) {
+                            return info.get("id").getAsLong();
+                        }
+                    }
+                    return null;
+                } finally {
+                    session.detach();
+                }
+            });
+            browser.setProcessId(processId);
+            return processId;
+        } catch (RuntimeException e) {
+            log.warn("Query process id of {} Error.", browser, e);
+            return null;
+        }
     }
 
     /**
-     * 从池中取出一个池中物（playwright）时调用
+     * 从池中取出一个池中物（playwright）时调用，上下文已在归还时重置，这里只做退役检查与计数，不访问驱动
      * @param p a {@code PooledObject} wrapping the instance to be activated
      *
      * @throws Exception if there is a problem activating {@code obj}
@@ -87,10 +284,32 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
         BrowserContext browserContext = p.getObject();
         log.info("Activate BrowserContext Instance '{}'.", browserContext);
         if(Objects.nonNull(browserContext)){
-            browserContext.clearCookies();
+            BrowserContextInfo info = getContextInfo(browserContext);
+            if (Objects.nonNull(info)) {
+                if (info.isRetired()) {
+                    throw new PlaywrightException("BrowserContext '" + browserContext + "' is retired");
+                }
+                info.markUsed();
+            }
         }
     }
 
+    /**
+     * 上下文归还后能否放回池中：重置策略为 recreate 或已达到退役条件时应销毁
+     */
+    public boolean isReusable(BrowserContext browserContext) {
+        BrowserContextInfo info = getContextInfo(browserContext);
+        return Objects.isNull(info) || (resetStrategy != ContextResetStrategy.recreate && !info.isRetired());
+    }
+
+    /**
+     * 上下文是否已达到退役条件，退役的上下文在归还时被销毁而不是放回池中
+     */
+    public boolean isRetired(BrowserContext browserContext) {
+        BrowserContextInfo info = getContextInfo(browserContext);
+        return Objects.nonNull(info) && info.isRetired();
+    }
+
     /**
      * 销毁一个池中物（playwright）时调用
      * @param p a {@code PooledObject} wrapping the instance to be destroyed
@@ -103,13 +322,16 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
         if (Objects.isNull(browserContext)) {
             return;
         }
-        // Cleanup browser context
-        cleanupBrowserContext(browserContext);
         log.info("Destroy BrowserContext Instance '{}'.", browserContext);
-        Playwright playwright = PLAYWRIGHT_MAP.remove(browserContext);
-        if (playwright != null) {
-            playwright.close();
-            log.info("Destroy browserContext of Playwright Instance '{}' Success.", playwright);
+        try {
+            run(browserContext, browserContext::close);
+        } catch (Exception e) {
+            log.error("Close BrowserContext Instance '{}' Error.", browserContext, e);
+        }
+        BrowserContextInfo info = contextInfos.remove(browserContext);
+        if (Objects.nonNull(info)) {
+            releaseBrowser(info.getBrowser());
+            deleteUserDataDir(info.getUserDataDir());
         }
     }
 
@@ -117,31 +339,56 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
         if (Objects.isNull(browserContext)) {
             return;
         }
-        log.info("Cleanup BrowserContext Cookies '{}'.", browserContext);
-        browserContext.clearCookies();
-        log.info("Cleanup BrowserContext Permissions '{}'.", browserContext);
-        browserContext.clearPermissions();
-        File userDataDir = USER_DATA_DIR_MAP.remove(browserContext);
-        if (Objects.nonNull(userDataDir) && userDataDir.exists()) {
-            log.info("Cleanup BrowserContext user data directory '{}'.", userDataDir);
-            try {
-                FileUtils.deleteDirectory(userDataDir);
-                log.info("Deleted user data directory: {}", userDataDir);
-            } catch (IOException e) {
-                log.error("Failed to delete user data directory: {}", userDataDir, e);
-            }
-        }
-        List<Page> pages = browserContext.pages();
-        if (!pages.isEmpty()) {
-            for (Page page : pages) {
-                if (page.isClosed()) {
-                    continue;
+        run(browserContext, () -> {
+            log.info("Cleanup BrowserContext Cookies '{}'.", browserContext);
+            browserContext.clearCookies();
+            log.info("Cleanup BrowserContext Permissions '{}'.", browserContext);
+            browserContext.clearPermissions();
+            List<Page> pages = browserContext.pages();
+            if (!pages.isEmpty()) {
+                for (Page page : pages) {
+                    if (page.isClosed()) {
+                        continue;
+                    }
+                    log.info("Destroy page of BrowserContext Instance '{}'.", browserContext);
+                    PlaywrightUtil.closePage(page);
                 }
-                log.info("Destroy page of BrowserContext Instance '{}'.", browserContext);
             }
+        });
+    }
+
+    /**
+     * 获取上下文所属的 Playwright 驱动
+     */
+    public PlaywrightDriver getDriver(BrowserContext browserContext) {
+        BrowserContextInfo info = getContextInfo(browserContext);
+        return Objects.isNull(info) ? null : info.getDriver();
+    }
+
+    /**
+     * 在上下文所属驱动的工作线程上执行任务
+     */
+    public <T> T execute(BrowserContext browserContext, Callable<T> task) {
+        PlaywrightDriver driver = getDriver(browserContext);
+        if (Objects.nonNull(driver)) {
+            return driver.execute(task);
+        }
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PlaywrightException("Playwright task error", e);
         }
     }
 
+    public void run(BrowserContext browserContext, Runnable task) {
+        execute(browserContext, () -> {
+            task.run();
+            return null;
+        });
+    }
+
     /**
      * 创建池中物（playwright）
      * @return a new instance that can be served by the pool
@@ -149,30 +396,217 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
      */
     @Override
     public PooledObject<BrowserContext> makeObject() throws Exception {
-        Playwright playwright = Playwright.create();
-        log.info("Create Playwright Instance '{}' Success.", playwright);
-        BrowserContext browserContext = null;
+        BrowserContextInfo info;
         if (Objects.nonNull(launchPersistentOptions)) {
-            File userDataDir = new File(userDataRootDir, String.valueOf(System.currentTimeMillis()));
-            if(!userDataDir.exists()){
-                userDataDir.mkdirs();
-            }
-            browserContext = PlaywrightUtil.getBrowserType(playwright, browserType)
-                    .launchPersistentContext(userDataDir.toPath() , launchPersistentOptions);
-            USER_DATA_DIR_MAP.put(browserContext, userDataDir);
-            log.info("Create Persistent BrowserContext Instance '{}', browserType : {} , Success.", browserContext, browserType);
+            info = createPersistentContext();
+            log.info("Create Persistent BrowserContext Instance '{}', browserType : {} , Success.", info.getBrowserContext(), browserType);
         } else {
-            browserContext = PlaywrightUtil.getBrowserType(playwright, browserType)
-                    .launch(launchOptions)
-                    .newContext(newContextOptions);
-            log.info("Create BrowserContext Instance '{}', browserType : {} , Success.", browserContext, browserType);
+            info = createContext();
+            log.info("Create BrowserContext Instance '{}' on {} of {}, browserType : {} , Success.", info.getBrowserContext(), info.getBrowser(), info.getDriver(), browserType);
+        }
+        contextInfos.put(info.getBrowserContext(), info);
+        PooledObject<BrowserContext> pooledObject = new DefaultPooledObject<>(info.getBrowserContext());
+        if (!customizers.isEmpty()) {
+            try {
+                run(info.getBrowserContext(), () -> customizers.forEach(customizer -> customizer.customize(info.getBrowserContext(), info)));
+            } catch (RuntimeException e) {
+                log.error("Customize BrowserContext Instance '{}' Error.", info.getBrowserContext(), e);
+                destroyObject(pooledObject);
+                throw e;
+            }
+        }
+        return pooledObject;
+    }
+
+    /**
+     * 在有空余名额的浏览器上创建上下文，没有可用浏览器时按需启动新的浏览器/驱动
+     */
+    protected BrowserContextInfo createContext() {
+        PlaywrightBrowser browser = acquireBrowser();
+        Browser instance;
+        try {
+            instance = browser.getBrowser();
+        } catch (RuntimeException e) {
+            if (Objects.nonNull(browser.getEndpoint()) && !browser.getDriver().isFailed()) {
+                browser.getEndpoint().markDown(endpointRetryInterval, e);
+            }
+            releaseBrowser(browser);
+            throw e;
+        }
+        if (Objects.nonNull(browser.getEndpoint())) {
+            browser.getEndpoint().markUp();
+        }
+        try {
+            BrowserContext browserContext = browser.getDriver().execute(() -> instance.newContext(newContextOptions));
+            return new BrowserContextInfo(browserContext, browser, null, contextRetirement);
+        } catch (RuntimeException e) {
+            releaseBrowser(browser);
+            throw e;
+        }
+    }
+
+    /**
+     * 持久化模式下每个上下文独占一个浏览器进程，仅共享 Playwright 驱动
+     */
+    protected BrowserContextInfo createPersistentContext() {
+        File userDataDir = createUserDataDir();
+        PlaywrightBrowser browser;
+        allocationLock.lock();
+        try {
+            PlaywrightDriver driver = acquireDriver();
+            browser = new PlaywrightBrowser(driver, (Browser) null);
+            browser.tryAcquire(1);
+            driver.addBrowser(browser);
+        } finally {
+            allocationLock.unlock();
+        }
+        try {
+            PlaywrightDriver driver = browser.getDriver();
+            BrowserContext browserContext = driver.execute(() -> getBrowserType(driver)
+                    .launchPersistentContext(userDataDir.toPath(), launchPersistentOptions));
+            return new BrowserContextInfo(browserContext, browser, userDataDir, contextRetirement);
+        } catch (RuntimeException e) {
+            releaseBrowser(browser);
+            deleteUserDataDir(userDataDir);
+            throw e;
+        }
+    }
+
+    /**
+     * 创建上下文专属的用户数据目录，目录名唯一；配置了模板时从模板复制
+     */
+    protected File createUserDataDir() {
+        File parentDir = Objects.nonNull(userDataDirReaper) ? userDataDirReaper.getInstanceDir() : new File(userDataRootDir);
+        File userDataDir = new File(parentDir, UUID.randomUUID().toString());
+        try {
+            Files.createDirectories(userDataDir.toPath());
+        } catch (IOException e) {
+            throw new PlaywrightException("Create user data directory " + userDataDir + " error", e);
+        }
+        if (Objects.nonNull(profileTemplate)) {
+            try {
+                profileTemplate.cloneTo(userDataDir);
+            } catch (RuntimeException e) {
+                deleteUserDataDir(userDataDir);
+                throw e;
+            }
+        }
+        return userDataDir;
+    }
+
+    /**
+     * 占用一个浏览器上下文名额：优先复用已有且未退役的浏览器，其次在已有驱动上启动新浏览器，最后创建新的驱动。
+     * 远程模式下先选出正在使用的上下文最少的可用端点，再在连接该端点的浏览器中分配。
+     * 持有 allocationLock 期间只占用名额：新驱动的初始化与浏览器的启动都作为任务投递到驱动线程异步执行，
+     * 锁内不等待驱动线程，多个创建线程可以并行初始化各自的驱动与浏览器，也不会与驱动线程上的归还操作互相等待
+     */
+    protected PlaywrightBrowser acquireBrowser() {
+        allocationLock.lock();
+        try {
+            BrowserEndpoint endpoint = isRemote() ? selectEndpoint() : null;
+            for (PlaywrightDriver driver : drivers) {
+                for (PlaywrightBrowser browser : driver.getBrowsers()) {
+                    if (browser.getEndpoint() == endpoint && browser.isConnected() && browser.tryAcquire(contextsPerBrowser)) {
+                        return browser;
+                    }
+                }
+            }
+            PlaywrightDriver driver = acquireDriver();
+            PlaywrightBrowser playwrightBrowser;
+            if (Objects.nonNull(endpoint)) {
+                playwrightBrowser = new PlaywrightBrowser(driver, driver.submit(() -> getBrowserType(driver).connect(endpoint.getWsEndpoint(), connectOptions)), endpoint);
+                log.info("Connect {} to '{}' on {}, browserType : {}.", playwrightBrowser, endpoint, driver, browserType);
+            } else {
+                playwrightBrowser = new PlaywrightBrowser(driver, driver.submit(() -> getBrowserType(driver).launch(launchOptions)));
+                log.info("Launch {} on {}, browserType : {}.", playwrightBrowser, driver, browserType);
+            }
+            playwrightBrowser.setRetirementPolicy(browserRetirement);
+            playwrightBrowser.tryAcquire(contextsPerBrowser);
+            driver.addBrowser(playwrightBrowser);
+            return playwrightBrowser;
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * 在驱动线程上获取浏览器类型，驱动仍在初始化时等待其完成
+     */
+    private BrowserType getBrowserType(PlaywrightDriver driver) {
+        return PlaywrightUtil.getBrowserType(driver.getPlaywright(), browserType);
+    }
+
+    /**
+     * 选出可用端点中正在使用的上下文最少的一个
+     */
+    private BrowserEndpoint selectEndpoint() {
+        return endpoints.stream()
+                .filter(BrowserEndpoint::isAvailable)
+                .min(Comparator.comparingInt(BrowserEndpoint::getInFlight))
+                .orElseThrow(() -> new PlaywrightException("No remote browser endpoint available: " + endpoints));
+    }
+
+    /**
+     * 获取一个尚未启动满浏览器的驱动，必须在 allocationLock 内调用。
+     * 新驱动的 Playwright 在其自身线程上异步初始化，此处不等待初始化完成；初始化失败的驱动不再分配
+     */
+    private PlaywrightDriver acquireDriver() {
+        for (PlaywrightDriver driver : drivers) {
+            if (!driver.isFailed() && driver.getBrowsers().size() < browsersPerDriver) {
+                return driver;
+            }
+        }
+        PlaywrightDriver driver = new PlaywrightDriver(driverQueueCapacity);
+        drivers.add(driver);
+        return driver;
+    }
+
+    /**
+     * 释放一个浏览器上下文名额，浏览器/驱动上已无上下文时将其关闭
+     */
+    protected void releaseBrowser(PlaywrightBrowser browser) {
+        PlaywrightDriver driver = browser.getDriver();
+        boolean closeDriver;
+        allocationLock.lock();
+        try {
+            if (browser.release() > 0) {
+                return;
+            }
+            driver.removeBrowser(browser);
+            closeDriver = driver.getBrowsers().isEmpty();
+            if (closeDriver) {
+                drivers.remove(driver);
+            }
+        } finally {
+            allocationLock.unlock();
+        }
+        browser.close();
+        if (closeDriver) {
+            driver.close();
         }
-        PLAYWRIGHT_MAP.put(browserContext, playwright);
-        return new DefaultPooledObject<>(browserContext);
     }
 
     /**
-     * 归还一个池中物（playwright）时调用，不应该activateObject冲突
+     * 删除用户数据目录，持久化模式下交给后台回收器，调用线程不等待磁盘操作
+     */
+    protected void deleteUserDataDir(File userDataDir) {
+        if (Objects.nonNull(userDataDirReaper)) {
+            userDataDirReaper.reap(userDataDir);
+            return;
+        }
+        if (Objects.nonNull(userDataDir) && userDataDir.exists()) {
+            log.info("Cleanup BrowserContext user data directory '{}'.", userDataDir);
+            try {
+                FileUtils.deleteDirectory(userDataDir);
+                log.info("Deleted user data directory: {}", userDataDir);
+            } catch (IOException e) {
+                log.error("Failed to delete user data directory: {}", userDataDir, e);
+            }
+        }
+    }
+
+    /**
+     * 归还一个池中物（playwright）时调用，按重置策略在驱动线程上一次性完成清理
      * @param p a {@code PooledObject} wrapping the instance to be passivated
      *
      * @throws Exception if there is a problem passivating {@code obj}
@@ -181,12 +615,84 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
     public void passivateObject(PooledObject<BrowserContext> p) throws Exception {
         BrowserContext browserContext = p.getObject();
         log.info("Return BrowserContext Instance '{}'.", browserContext);
-        if(Objects.nonNull(browserContext)){
-            browserContext.clearCookies();
-            browserContext.pages().forEach(page -> {
-                PlaywrightUtil.closePage(page);
+        if(Objects.nonNull(browserContext) && resetStrategy != ContextResetStrategy.recreate){
+            run(browserContext, () -> resetBrowserContext(browserContext));
+            log.info("Return BrowserContext Instance : reset {} success", resetStrategy);
+        }
+    }
+
+    /**
+     * 重置上下文，必须在驱动线程上调用
+     */
+    protected void resetBrowserContext(BrowserContext browserContext) {
+        resetBrowserContext(browserContext, null);
+    }
+
+    /**
+     * 按重置策略重置上下文并关闭 keep 以外的页面，必须在驱动线程上调用。
+     * 页面池中的页面在归还时保留，其上下文无法重建，recreate 策略按 storage 清理；
+     * 保留页面的 sessionStorage 属于该页面，额外在页面中清除
+     * @param keep 保留不关闭的页面，为空时关闭所有页面
+     */
+    public void resetBrowserContext(BrowserContext browserContext, Page keep) {
+        List<Page> pages = new ArrayList<>(browserContext.pages());
+        if (resetStrategy == ContextResetStrategy.storage || (Objects.nonNull(keep) && resetStrategy == ContextResetStrategy.recreate)) {
+            if (Objects.nonNull(keep) && Objects.nonNull(PlaywrightUtil.getOrigin(keep.url()))) {
+                try {
+                    PlaywrightUtil.clearStorage(keep);
+                } catch (Exception e) {
+                    log.warn("Clear storage of page '{}' Error.", keep.url(), e);
+                }
+            }
+            clearStorage(browserContext, pages);
+            browserContext.clearPermissions();
+        }
+        browserContext.clearCookies();
+        pages.stream().filter(page -> page != keep).forEach(PlaywrightUtil::closePage);
+    }
+
+    /**
+     * 清除上下文中各个源的站点数据。Chromium 通过 CDP Storage.clearDataForOrigin 清除 storageState 及打开页面涉及的所有源；
+     * 其他浏览器只能在打开的页面中通过脚本清除该页面所在源的数据
+     */
+    private void clearStorage(BrowserContext browserContext, List<Page> pages) {
+        Set<String> origins = new LinkedHashSet<>();
+        for (Page page : pages) {
+            String origin = PlaywrightUtil.getOrigin(page.url());
+            if (Objects.nonNull(origin)) {
+                origins.add(origin);
+            }
+        }
+        if (browserType != PlaywrightProperties.BrowserType.chromium) {
+            pages.stream().filter(page -> Objects.nonNull(PlaywrightUtil.getOrigin(page.url()))).forEach(page -> {
+                try {
+                    PlaywrightUtil.clearStorage(page);
+                } catch (Exception e) {
+                    log.warn("Clear storage of page '{}' Error.", page.url(), e);
+                }
             });
-            log.info("Return BrowserContext Instance : clear cookies success");
+            return;
+        }
+        Matcher matcher = STORAGE_ORIGIN_PATTERN.matcher(browserContext.storageState());
+        while (matcher.find()) {
+            origins.add(matcher.group(1));
+        }
+        if (origins.isEmpty()) {
+            return;
+        }
+        if (pages.isEmpty()) {
+            pages.add(browserContext.newPage());
+        }
+        CDPSession session = browserContext.newCDPSession(pages.get(0));
+        try {
+            for (String origin : origins) {
+                JsonObject args = new JsonObject();
+                args.addProperty("origin", origin);
+                args.addProperty("storageTypes", "all");
+                session.send("Storage.clearDataForOrigin", args);
+            }
+        } finally {
+            session.detach();
         }
     }
 
@@ -201,27 +707,31 @@ public class BrowserContextPooledObjectFactory implements PooledObjectFactory<Br
     @Override
     public boolean validateObject(PooledObject<BrowserContext> p) {
         BrowserContext browserContext = p.getObject();
-        boolean isValidated;
-        if (Objects.nonNull(launchOptions)) {
-            isValidated = Objects.nonNull(browserContext) && browserContext.browser().isConnected();
-        } else {
-            isValidated = Objects.nonNull(browserContext);
-        }
+        BrowserContextInfo info = getContextInfo(browserContext);
+        boolean isValidated = Objects.nonNull(info) && !info.isRetired() && info.getBrowser().isConnected();
         log.info("Validate BrowserContext : {}, isValidated : {}", browserContext, isValidated);
         return isValidated;
     }
 
     @Override
     public void close() throws Exception {
-        PLAYWRIGHT_MAP.forEach((browserContext, playwright) -> {
-            // Cleanup browser context
-            cleanupBrowserContext(browserContext);
-            if (playwright != null) {
-                playwright.close();
-                log.info("Destroy browserContext of Playwright Instance '{}' Success.", playwright);
+        contextInfos.forEach((browserContext, info) -> {
+            try {
+                run(browserContext, browserContext::close);
+            } catch (Exception e) {
+                log.error("Close BrowserContext Instance '{}' Error.", browserContext, e);
             }
         });
-
+        drivers.forEach(PlaywrightDriver::close);
+        drivers.clear();
+        contextInfos.values().forEach(info -> deleteUserDataDir(info.getUserDataDir()));
+        contextInfos.clear();
+        if (Objects.nonNull(profileTemplate)) {
+            profileTemplate.close();
+        }
+        if (Objects.nonNull(userDataDirReaper)) {
+            userDataDirReaper.close();
+        }
     }
 
 }
@@ -0,0 +1,79 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 远程浏览器服务端点（{@code playwright run-server} 的 ws 地址），记录其上正在使用的上下文数量与可用状态
+ */
+@Slf4j
+public class BrowserEndpoint {
+
+    private final String wsEndpoint;
+    /**
+     * 当前分配在该端点上的上下文数量
+     */
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    /**
+     * 连续连接失败次数
+     */
+    private final AtomicInteger failures = new AtomicInteger(0);
+    /**
+     * 端点被标记为不可用的截止时间，此后重新参与分配
+     */
+    private volatile long downUntil = 0L;
+
+    public BrowserEndpoint(String wsEndpoint) {
+        this.wsEndpoint = wsEndpoint;
+    }
+
+    public String getWsEndpoint() {
+        return wsEndpoint;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getFailures() {
+        return failures.get();
+    }
+
+    public boolean isAvailable() {
+        return System.currentTimeMillis() >= downUntil;
+    }
+
+    void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * 连接成功，端点恢复可用
+     */
+    void markUp() {
+        if (failures.getAndSet(0) > 0) {
+            log.info("Remote browser endpoint '{}' is up.", wsEndpoint);
+        }
+        downUntil = 0L;
+    }
+
+    /**
+     * 连接失败，端点在 retryInterval 内不再参与分配
+     */
+    void markDown(Duration retryInterval, Throwable cause) {
+        downUntil = System.currentTimeMillis() + retryInterval.toMillis();
+        log.warn("Remote browser endpoint '{}' is down ({} failures), retry after {}.", wsEndpoint, failures.incrementAndGet(), retryInterval, cause);
+    }
+
+    @Override
+    public String toString() {
+        return wsEndpoint;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.Page;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.AbandonedConfig;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Slf4j
+public class BrowserPagePool extends GenericObjectPool<Page> {
+
+    public BrowserPagePool(PooledObjectFactory<Page> factory) {
+        super(factory);
+    }
+
+    public BrowserPagePool(PooledObjectFactory<Page> factory, GenericObjectPoolConfig<Page> config) {
+        super(factory, config);
+    }
+
+    public BrowserPagePool(PooledObjectFactory<Page> factory, GenericObjectPoolConfig<Page> config, AbandonedConfig abandonedConfig) {
+        super(factory, config, abandonedConfig);
+    }
+
+    /**
+     * 归还页面，所在上下文已退役时销毁页面并归还上下文，由上下文池完成退役
+     */
+    @Override
+    public void returnObject(Page page) {
+        PooledObjectFactory<Page> factory = getFactory();
+        if (factory instanceof BrowserPagePooledObjectFactory && ((BrowserPagePooledObjectFactory) factory).isRetired(page)) {
+            try {
+                invalidateObject(page);
+            } catch (Exception e) {
+                log.error("Retire Page Instance '{}' Error.", page, e);
+            }
+            return;
+        }
+        super.returnObject(page);
+    }
+
+    /**
+     * 借出一个页面，在其所属驱动的工作线程上执行任务，完成后归还页面
+     * @param task 使用页面的任务
+     * @return 任务结果
+     */
+    public <T> CompletableFuture<T> submit(Function<Page, T> task) {
+        final Page page;
+        try {
+            page = borrowObject();
+        } catch (Exception e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        CompletableFuture<T> future;
+        PooledObjectFactory<Page> factory = getFactory();
+        if (factory instanceof BrowserPagePooledObjectFactory) {
+            future = ((BrowserPagePooledObjectFactory) factory).getBrowserContextPool().submit(page.context(), () -> task.apply(page));
+        } else {
+            future = CompletableFuture.completedFuture(page).thenApply(task);
+        }
+        return future.whenComplete((result, throwable) -> {
+            try {
+                returnObject(page);
+            } catch (Exception e) {
+                log.error("Return Page Instance '{}' Error.", page, e);
+            }
+        });
+    }
+
+    /**
+     * 同步执行 {@link #submit(Function)}
+     */
+    public <T> T execute(Function<Page, T> task) {
+        return PlaywrightDriver.join(submit(task));
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BrowserPagePoolConfig extends BasePoolConfig {
+
+    /**
+     * 是否启用页面池，启用后每个池化页面独占一个从 {@link BrowserContextPool} 借出的上下文
+     */
+    private boolean enabled = false;
+
+}
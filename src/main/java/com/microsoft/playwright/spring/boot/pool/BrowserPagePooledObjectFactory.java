@@ -0,0 +1,131 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ViewportSize;
+import com.microsoft.playwright.spring.boot.utils.PlaywrightUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 页面池对象工厂：页面创建在从 {@link BrowserContextPool} 借出的上下文中，归还时重置为空白页而不是关闭
+ */
+@Slf4j
+public class BrowserPagePooledObjectFactory implements PooledObjectFactory<Page> {
+
+    public static final String BLANK_URL = "about:blank";
+
+    private final BrowserContextPool browserContextPool;
+    /**
+     * 页面创建时的视口大小，归还时用于恢复
+     */
+    private final Map<Page, ViewportSize> viewportSizes = new ConcurrentHashMap<>();
+
+    public BrowserPagePooledObjectFactory(BrowserContextPool browserContextPool) {
+        this.browserContextPool = browserContextPool;
+    }
+
+    public BrowserContextPool getBrowserContextPool() {
+        return browserContextPool;
+    }
+
+    private <T> T execute(BrowserContext browserContext, Callable<T> task) {
+        return PlaywrightDriver.join(browserContextPool.submit(browserContext, task));
+    }
+
+    /**
+     * 页面所在上下文已达到退役条件时，页面也随之退役
+     */
+    public boolean isRetired(Page page) {
+        return browserContextPool.isRetired(page.context());
+    }
+
+    @Override
+    public PooledObject<Page> makeObject() throws Exception {
+        BrowserContext browserContext = browserContextPool.borrowObject();
+        try {
+            Page page = execute(browserContext, browserContext::newPage);
+            ViewportSize viewportSize = execute(browserContext, page::viewportSize);
+            if (Objects.nonNull(viewportSize)) {
+                viewportSizes.put(page, viewportSize);
+            }
+            log.info("Create Page Instance '{}' in BrowserContext '{}' Success.", page, browserContext);
+            return new DefaultPooledObject<>(page);
+        } catch (RuntimeException e) {
+            browserContextPool.invalidateObject(browserContext);
+            throw e;
+        }
+    }
+
+    @Override
+    public void activateObject(PooledObject<Page> p) throws Exception {
+        // 归还时已完成重置，借出无需额外操作
+    }
+
+    /**
+     * 归还页面时重置：按上下文池的重置策略清理上下文（Cookie、站点数据、权限）并关闭弹出的其他页面，
+     * 清除页面路由，恢复视口与全部媒体模拟并导航回空白页
+     */
+    @Override
+    public void passivateObject(PooledObject<Page> p) throws Exception {
+        Page page = p.getObject();
+        if (Objects.isNull(page) || page.isClosed()) {
+            return;
+        }
+        BrowserContext browserContext = page.context();
+        ViewportSize viewportSize = viewportSizes.get(page);
+        PooledObjectFactory<BrowserContext> contextFactory = browserContextPool.getFactory();
+        execute(browserContext, () -> {
+            if (contextFactory instanceof BrowserContextPooledObjectFactory) {
+                ((BrowserContextPooledObjectFactory) contextFactory).resetBrowserContext(browserContext, page);
+            } else {
+                browserContext.pages().stream().filter(other -> other != page).forEach(PlaywrightUtil::closePage);
+                browserContext.clearCookies();
+            }
+            page.unrouteAll();
+            page.emulateMedia(new Page.EmulateMediaOptions().setMedia(null).setColorScheme(null)
+                    .setReducedMotion(null).setForcedColors(null));
+            ViewportSize current = page.viewportSize();
+            if (Objects.nonNull(viewportSize) && (Objects.isNull(current)
+                    || current.width != viewportSize.width || current.height != viewportSize.height)) {
+                page.setViewportSize(viewportSize.width, viewportSize.height);
+            }
+            if (!BLANK_URL.equals(page.url())) {
+                page.navigate(BLANK_URL);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void destroyObject(PooledObject<Page> p) throws Exception {
+        Page page = p.getObject();
+        if (Objects.isNull(page)) {
+            return;
+        }
+        viewportSizes.remove(page);
+        BrowserContext browserContext = page.context();
+        execute(browserContext, () -> {
+            PlaywrightUtil.closePage(page);
+            return null;
+        });
+        log.info("Destroy Page Instance '{}'.", page);
+        browserContextPool.returnObject(browserContext);
+    }
+
+    @Override
+    public boolean validateObject(PooledObject<Page> p) {
+        Page page = p.getObject();
+        boolean isValidated = Objects.nonNull(page) && !page.isClosed() && !isRetired(page);
+        log.info("Validate Page : {}, isValidated : {}", page, isValidated);
+        return isValidated;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+/**
+ * 上下文归还时的重置策略，重置在归还时于驱动线程上一次性完成，借出时不再做任何清理
+ */
+public enum ContextResetStrategy {
+
+    /**
+     * 清除 Cookie 并关闭所有页面
+     */
+    cookies,
+    /**
+     * 清除 Cookie、权限、localStorage、sessionStorage、IndexedDB 等站点数据并关闭所有页面
+     */
+    storage,
+    /**
+     * 不做清理，归还时直接销毁上下文，由池重新创建
+     */
+    recreate
+
+}
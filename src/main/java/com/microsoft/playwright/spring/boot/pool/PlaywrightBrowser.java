@@ -0,0 +1,207 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.Browser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 由 {@link PlaywrightDriver} 启动的一个浏览器进程，统计其上打开的浏览器上下文数量。
+ * 持久化模式下浏览器进程与上下文一一对应，此时 {@link #getBrowser()} 为 {@code null}。
+ * 远程模式下为连接到 {@link BrowserEndpoint} 的浏览器。
+ * 浏览器在驱动线程上异步启动，启动期间已可分配上下文名额，使用方通过 {@link #getBrowser()} 等待启动完成。
+ */
+@Slf4j
+public class PlaywrightBrowser implements AutoCloseable {
+
+    private static final AtomicInteger BROWSER_INDEX = new AtomicInteger(0);
+
+    private final int id;
+    private final PlaywrightDriver driver;
+    private final CompletableFuture<Browser> browser;
+    /**
+     * 远程模式下浏览器所连接的端点，本地启动的浏览器为 {@code null}
+     */
+    private final BrowserEndpoint endpoint;
+    /**
+     * 当前浏览器上已分配的上下文数量
+     */
+    private final AtomicInteger contexts = new AtomicInteger(0);
+    /**
+     * 浏览器上累计创建的上下文数量
+     */
+    private final AtomicInteger served = new AtomicInteger(0);
+    private final long createdAt = System.currentTimeMillis();
+    /**
+     * 退役时间点及最多创建的上下文数量，由 {@link #setRetirementPolicy(RetirementPolicy)} 设置
+     */
+    private volatile long expiresAt = Long.MAX_VALUE;
+    private volatile int maxUses = Integer.MAX_VALUE;
+    /**
+     * 被手动要求重启，效果等同于存活时长到期
+     */
+    private volatile boolean retiring = false;
+    /**
+     * 浏览器进程号，首次查询后缓存
+     */
+    private volatile Long processId;
+
+    public PlaywrightBrowser(PlaywrightDriver driver, Browser browser) {
+        this(driver, CompletableFuture.completedFuture(browser));
+    }
+
+    public PlaywrightBrowser(PlaywrightDriver driver, CompletableFuture<Browser> browser) {
+        this(driver, browser, null);
+    }
+
+    public PlaywrightBrowser(PlaywrightDriver driver, CompletableFuture<Browser> browser, BrowserEndpoint endpoint) {
+        this.id = BROWSER_INDEX.incrementAndGet();
+        this.driver = driver;
+        this.browser = browser;
+        this.endpoint = endpoint;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public PlaywrightDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * 获取浏览器实例，浏览器仍在启动时等待其完成
+     */
+    public Browser getBrowser() {
+        return PlaywrightDriver.join(browser);
+    }
+
+    /**
+     * 浏览器是否仍在启动
+     */
+    public boolean isLaunching() {
+        return !browser.isDone();
+    }
+
+    public BrowserEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getContextCount() {
+        return contexts.get();
+    }
+
+    public int getServedCount() {
+        return served.get();
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    void setRetirementPolicy(RetirementPolicy retirementPolicy) {
+        this.expiresAt = retirementPolicy.expiresAt(createdAt);
+        this.maxUses = retirementPolicy.maxUses();
+    }
+
+    /**
+     * 浏览器存活时长已达上限，其上的上下文在归还时退役，全部退役后浏览器随之关闭
+     */
+    public boolean isExpired() {
+        return retiring || System.currentTimeMillis() >= expiresAt;
+    }
+
+    /**
+     * 重启浏览器：不再分配新上下文，其上的上下文归还时退役，全部退役后关闭，新的上下文分配到新启动的浏览器
+     */
+    public void retire() {
+        this.retiring = true;
+    }
+
+    public Long getProcessId() {
+        return processId;
+    }
+
+    void setProcessId(Long processId) {
+        this.processId = processId;
+    }
+
+    /**
+     * 浏览器是否不再接受新的上下文：已过期或累计创建的上下文数量达到上限
+     */
+    public boolean isRetired() {
+        return isExpired() || served.get() >= maxUses;
+    }
+
+    public boolean isConnected() {
+        if (isLaunching()) {
+            return true;
+        }
+        if (browser.isCompletedExceptionally()) {
+            return false;
+        }
+        Browser instance = browser.join();
+        return Objects.isNull(instance) || instance.isConnected();
+    }
+
+    /**
+     * 尝试在当前浏览器上占用一个上下文名额
+     * @param maxContexts 单个浏览器允许的最大上下文数
+     * @return 是否占用成功
+     */
+    boolean tryAcquire(int maxContexts) {
+        if (isRetired()) {
+            return false;
+        }
+        int current;
+        do {
+            current = contexts.get();
+            if (current >= maxContexts) {
+                return false;
+            }
+        } while (!contexts.compareAndSet(current, current + 1));
+        served.incrementAndGet();
+        if (Objects.nonNull(endpoint)) {
+            endpoint.acquire();
+        }
+        return true;
+    }
+
+    /**
+     * 释放一个上下文名额
+     * @return 剩余的上下文数量
+     */
+    int release() {
+        if (Objects.nonNull(endpoint)) {
+            endpoint.release();
+        }
+        return contexts.decrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        Browser instance;
+        try {
+            instance = getBrowser();
+        } catch (Exception e) {
+            return;
+        }
+        if (Objects.isNull(instance)) {
+            return;
+        }
+        try {
+            driver.run(instance::close);
+            log.info("Destroy Browser '{}' of {} Success.", id, driver);
+        } catch (Exception e) {
+            log.error("Destroy Browser '{}' of {} Error.", id, driver, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PlaywrightBrowser-" + id;
+    }
+
+}
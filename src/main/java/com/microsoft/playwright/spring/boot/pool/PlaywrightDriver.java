@@ -0,0 +1,188 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一个 Playwright 驱动（Node 驱动进程），持有若干由其启动的浏览器进程。
+ * Playwright 对象非线程安全，驱动创建的所有对象（浏览器、上下文、页面）都只在驱动专属的工作线程上访问，
+ * 其他线程通过 {@link #submit(Callable)} / {@link #execute(Callable)} 将任务投递到该线程执行。
+ * Playwright 在驱动线程上异步初始化，构造时不等待，使用方通过 {@link #getPlaywright()} 等待初始化完成。
+ */
+@Slf4j
+public class PlaywrightDriver implements AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final AtomicInteger DRIVER_INDEX = new AtomicInteger(0);
+
+    private final int id;
+    private final ThreadPoolExecutor executor;
+    private volatile Thread thread;
+    private final CompletableFuture<Playwright> playwright;
+    /**
+     * 当前驱动启动的浏览器
+     */
+    private final List<PlaywrightBrowser> browsers = new CopyOnWriteArrayList<>();
+
+    public PlaywrightDriver() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public PlaywrightDriver(int queueCapacity) {
+        this.id = DRIVER_INDEX.incrementAndGet();
+        ThreadFactory threadFactory = ThreadUtils.newGenericThreadFactory("playwright-driver-" + id, true);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = threadFactory.newThread(runnable);
+                    this.thread = thread;
+                    return thread;
+                });
+        this.playwright = submit(Playwright::create);
+        this.playwright.whenComplete((instance, throwable) -> {
+            if (Objects.isNull(throwable)) {
+                log.info("Create Playwright Driver '{}' Success.", id);
+            } else {
+                log.error("Create Playwright Driver '{}' Error.", id, throwable);
+            }
+        });
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * 获取 Playwright 实例，驱动仍在初始化时等待其完成
+     */
+    public Playwright getPlaywright() {
+        return join(playwright);
+    }
+
+    /**
+     * 驱动是否初始化失败，失败的驱动不再分配浏览器
+     */
+    public boolean isFailed() {
+        return playwright.isCompletedExceptionally();
+    }
+
+    public List<PlaywrightBrowser> getBrowsers() {
+        return browsers;
+    }
+
+    /**
+     * 当前线程是否为驱动的工作线程
+     */
+    public boolean isDriverThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * 等待执行的任务数量
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 在驱动工作线程上异步执行任务；若当前已在工作线程上则直接执行，避免自身等待造成死锁
+     * @param task 任务
+     * @return 任务结果
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (isDriverThread()) {
+            complete(future, task);
+            return future;
+        }
+        try {
+            executor.execute(() -> complete(future, task));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new PlaywrightException(String.format("%s task queue is full or closed", this), e));
+        }
+        return future;
+    }
+
+    /**
+     * 在驱动工作线程上同步执行任务
+     * @param task 任务
+     * @return 任务结果
+     */
+    public <T> T execute(Callable<T> task) {
+        return join(submit(task));
+    }
+
+    public void run(Runnable task) {
+        execute(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Callable<T> task) {
+        try {
+            future.complete(task.call());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 等待任务完成，并将 {@link CompletionException} 还原为任务本身抛出的异常
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new PlaywrightException("Playwright driver task error", cause);
+        }
+    }
+
+    void addBrowser(PlaywrightBrowser browser) {
+        browsers.add(browser);
+    }
+
+    void removeBrowser(PlaywrightBrowser browser) {
+        browsers.remove(browser);
+    }
+
+    @Override
+    public void close() {
+        browsers.forEach(PlaywrightBrowser::close);
+        browsers.clear();
+        try {
+            run(() -> {
+                if (!playwright.isCompletedExceptionally()) {
+                    playwright.join().close();
+                }
+            });
+            log.info("Destroy Playwright Driver '{}' Success.", id);
+        } catch (Exception e) {
+            log.error("Destroy Playwright Driver '{}' Error.", id, e);
+        }
+        if (isDriverThread()) {
+            executor.shutdown();
+        } else {
+            ThreadUtils.shutdownGracefully(executor, 10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PlaywrightDriver-" + id;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+/**
+ * 持久化模式下从模板复制用户数据目录的方式
+ */
+public enum ProfileCloneStrategy {
+
+    /**
+     * 优先使用写时复制（reflink），文件系统不支持时回退为并行复制
+     */
+    auto,
+    /**
+     * 仅使用写时复制（reflink），不支持时报错
+     */
+    reflink,
+    /**
+     * 使用硬链接，不支持时回退为复制。浏览器会原地改写 Cookies、History 等 SQLite 文件，
+     * 硬链接会把这些改动写回模板并在上下文之间共享，只适用于内容不会被改写的模板
+     */
+    hardlink,
+    /**
+     * 并行复制所有文件
+     */
+    copy
+
+}
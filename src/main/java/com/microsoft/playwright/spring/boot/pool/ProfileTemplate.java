@@ -0,0 +1,215 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 持久化模式下的用户数据目录模板：每个上下文从模板复制出独立的目录，启动时即带有预热的 HTTP/着色器缓存及预置状态
+ */
+@Slf4j
+public class ProfileTemplate implements AutoCloseable {
+
+    /**
+     * 浏览器进程持有的锁文件，不能随模板复制
+     */
+    private static final Set<String> LOCK_FILES = new HashSet<>(Arrays.asList(
+            "SingletonLock", "SingletonCookie", "SingletonSocket", "lockfile", "lock", ".parentlock", "parent.lock"));
+
+    private final Path templateDir;
+    private final ProfileCloneStrategy strategy;
+    private final ExecutorService copyExecutor;
+    /**
+     * 文件系统是否支持 reflink，首次尝试后确定
+     */
+    private volatile Boolean reflinkSupported;
+
+    public ProfileTemplate(File templateDir, ProfileCloneStrategy strategy, int copyThreads) {
+        if (Objects.isNull(templateDir) || !templateDir.isDirectory()) {
+            throw new IllegalArgumentException("Profile template directory does not exist: " + templateDir);
+        }
+        this.templateDir = templateDir.toPath();
+        this.strategy = Objects.isNull(strategy) ? ProfileCloneStrategy.auto : strategy;
+        int threads = Math.max(1, copyThreads);
+        this.copyExecutor = ThreadUtils.newThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), "playwright-profile-copy", true);
+    }
+
+    public Path getTemplateDir() {
+        return templateDir;
+    }
+
+    /**
+     * 将模板复制到空目录 target
+     * @param target 上下文的用户数据目录，必须已创建
+     */
+    public void cloneTo(File target) {
+        long start = System.currentTimeMillis();
+        Path targetDir = target.toPath();
+        ProfileCloneStrategy used = strategy;
+        try {
+            switch (strategy) {
+                case reflink:
+                    if (!reflink(targetDir)) {
+                        throw new PlaywrightException("Reflink is not supported for profile template " + templateDir);
+                    }
+                    break;
+                case hardlink:
+                    walk(targetDir, true);
+                    break;
+                case copy:
+                    walk(targetDir, false);
+                    break;
+                default:
+                    if (!Boolean.FALSE.equals(reflinkSupported) && reflink(targetDir)) {
+                        used = ProfileCloneStrategy.reflink;
+                    } else {
+                        used = ProfileCloneStrategy.copy;
+                        walk(targetDir, false);
+                    }
+                    break;
+            }
+            removeLockFiles(targetDir);
+        } catch (IOException e) {
+            throw new PlaywrightException("Clone profile template to " + target + " error", e);
+        }
+        log.info("Clone profile template '{}' to '{}' by {} in {} ms.", templateDir, target, used, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 使用 cp 的写时复制克隆整个目录
+     */
+    private boolean reflink(Path targetDir) throws IOException {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        List<String> command = new ArrayList<>();
+        command.add("cp");
+        if (os.contains("mac")) {
+            command.add("-c");
+            command.add("-R");
+        } else if (os.contains("linux")) {
+            command.add("-a");
+            command.add("--reflink=always");
+        } else {
+            reflinkSupported = Boolean.FALSE;
+            return false;
+        }
+        command.add(templateDir.toAbsolutePath() + File.separator + ".");
+        command.add(targetDir.toAbsolutePath().toString());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(new File("/dev/null")).start();
+        try {
+            if (process.waitFor() == 0) {
+                reflinkSupported = Boolean.TRUE;
+                return true;
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new PlaywrightException("Clone profile template interrupted", e);
+        }
+        if (!Boolean.TRUE.equals(reflinkSupported)) {
+            log.info("Reflink is not supported for profile template '{}', fallback to copy.", templateDir);
+            reflinkSupported = Boolean.FALSE;
+        }
+        clean(targetDir);
+        return false;
+    }
+
+    /**
+     * 遍历模板目录，在当前线程上创建子目录，文件交给复制线程池并行复制或创建硬链接
+     */
+    private void walk(Path targetDir, boolean hardlink) throws IOException {
+        List<Future<?>> futures = new ArrayList<>();
+        Files.walkFileTree(templateDir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(targetDir.resolve(templateDir.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (LOCK_FILES.contains(file.getFileName().toString()) || !attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Path target = targetDir.resolve(templateDir.relativize(file).toString());
+                futures.add(copyExecutor.submit(() -> {
+                    if (hardlink) {
+                        try {
+                            Files.createLink(target, file);
+                            return null;
+                        } catch (UnsupportedOperationException | IOException e) {
+                            log.debug("Create hard link '{}' error, fallback to copy.", target, e);
+                        }
+                    }
+                    Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+                    return null;
+                }));
+                return FileVisitResult.CONTINUE;
+            }
+
+        });
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new PlaywrightException("Clone profile template interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new PlaywrightException("Clone profile template error", e.getCause());
+        }
+    }
+
+    private void removeLockFiles(Path targetDir) throws IOException {
+        for (String name : LOCK_FILES) {
+            Files.deleteIfExists(targetDir.resolve(name));
+        }
+    }
+
+    /**
+     * reflink 失败后清空目标目录中已复制的部分
+     */
+    private void clean(Path targetDir) throws IOException {
+        Files.walkFileTree(targetDir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (!dir.equals(targetDir)) {
+                    Files.delete(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+        });
+    }
+
+    @Override
+    public void close() {
+        copyExecutor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 池中对象的退役策略：存活时长或使用次数达到上限后在归还时销毁。
+ * 每个对象的上限按 jitter 比例随机下调，避免同一时间创建的对象集中退役
+ */
+public class RetirementPolicy {
+
+    public static final RetirementPolicy NONE = new RetirementPolicy(null, 0, 0D);
+
+    /**
+     * 最大存活时长，为空或不大于 0 时不限制
+     */
+    private final Duration maxLifetime;
+    /**
+     * 最大使用次数，不大于 0 时不限制
+     */
+    private final int maxUses;
+    /**
+     * 随机下调比例，取值 [0, 1)
+     */
+    private final double jitter;
+
+    public RetirementPolicy(Duration maxLifetime, int maxUses, double jitter) {
+        this.maxLifetime = maxLifetime;
+        this.maxUses = maxUses;
+        this.jitter = Math.min(Math.max(jitter, 0D), 0.99D);
+    }
+
+    public Duration getMaxLifetime() {
+        return maxLifetime;
+    }
+
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * 计算对象的退役时间点
+     * @param createdAt 对象创建时间（毫秒）
+     * @return 退役时间点，不限制时为 {@link Long#MAX_VALUE}
+     */
+    long expiresAt(long createdAt) {
+        if (Objects.isNull(maxLifetime) || maxLifetime.isZero() || maxLifetime.isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        long lifetime = maxLifetime.toMillis();
+        return createdAt + lifetime - (long) (lifetime * nextJitter());
+    }
+
+    /**
+     * 计算对象的最大使用次数
+     * @return 最大使用次数，不限制时为 {@link Integer#MAX_VALUE}
+     */
+    int maxUses() {
+        if (maxUses <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(1, maxUses - (int) (maxUses * nextJitter()));
+    }
+
+    private double nextJitter() {
+        return jitter > 0D ? ThreadLocalRandom.current().nextDouble(jitter) : 0D;
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.utils.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 持久化模式下用户数据目录的后台回收器。
+ * <p>
+ * 每个 JVM 在 userDataRootDir 下拥有一个以 {@link #INSTANCE_PREFIX} 开头的实例目录，并在其中的 {@link #LOCK_FILE} 上持有文件锁，
+ * 上下文的用户数据目录都创建在实例目录内。销毁上下文时目录先被重命名为墓碑（{@link #TOMBSTONE_SUFFIX}），再在后台线程删除，
+ * 归还线程与驱逐线程不再等待磁盘操作。启动时清理没有存活进程持有锁的实例目录及遗留的墓碑，回收崩溃进程留下的目录。
+ */
+@Slf4j
+public class UserDataDirReaper implements AutoCloseable {
+
+    public static final String INSTANCE_PREFIX = "playwright-";
+    public static final String LOCK_FILE = ".lock";
+    public static final String TOMBSTONE_SUFFIX = ".tombstone";
+    /**
+     * 没有锁文件的实例目录在创建后这段时间内视为正在初始化，不清理
+     */
+    private static final long ORPHAN_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final File rootDir;
+    private final File instanceDir;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ExecutorService executor = ThreadUtils.newSingleThreadExecutor("playwright-user-data-reaper", true);
+
+    public UserDataDirReaper(File rootDir) {
+        this.rootDir = rootDir;
+        this.instanceDir = new File(rootDir, INSTANCE_PREFIX + UUID.randomUUID());
+        try {
+            Files.createDirectories(instanceDir.toPath());
+            this.lockChannel = FileChannel.open(new File(instanceDir, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.lock = lockChannel.tryLock();
+        } catch (IOException e) {
+            throw new PlaywrightException("Create user data instance directory " + instanceDir + " error", e);
+        }
+        executor.execute(this::sweep);
+    }
+
+    /**
+     * 当前 JVM 的实例目录，上下文的用户数据目录应创建在其中
+     */
+    public File getInstanceDir() {
+        return instanceDir;
+    }
+
+    /**
+     * 将目录重命名为墓碑后交给后台线程删除
+     * @param dir 用户数据目录
+     */
+    public void reap(File dir) {
+        if (Objects.isNull(dir) || !dir.exists()) {
+            return;
+        }
+        File tombstone = tombstone(dir);
+        try {
+            executor.execute(() -> delete(tombstone));
+        } catch (RejectedExecutionException e) {
+            delete(tombstone);
+        }
+    }
+
+    /**
+     * 清理 userDataRootDir 下崩溃进程遗留的实例目录及墓碑
+     */
+    public void sweep() {
+        File[] children = rootDir.listFiles();
+        if (Objects.isNull(children)) {
+            return;
+        }
+        int swept = 0;
+        for (File child : children) {
+            if (!child.isDirectory() || child.equals(instanceDir)) {
+                continue;
+            }
+            String name = child.getName();
+            if (name.startsWith(INSTANCE_PREFIX) && (name.endsWith(TOMBSTONE_SUFFIX) || isOrphan(child))) {
+                delete(name.endsWith(TOMBSTONE_SUFFIX) ? child : tombstone(child));
+                swept++;
+            }
+        }
+        if (swept > 0) {
+            log.info("Swept {} orphaned user data directories under '{}'.", swept, rootDir);
+        }
+    }
+
+    /**
+     * 实例目录的锁未被任何进程持有时视为遗留目录
+     */
+    private boolean isOrphan(File dir) {
+        File lockFile = new File(dir, LOCK_FILE);
+        if (!lockFile.exists()) {
+            return System.currentTimeMillis() - dir.lastModified() > ORPHAN_GRACE_MILLIS;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.WRITE)) {
+            FileLock orphanLock = channel.tryLock();
+            if (Objects.isNull(orphanLock)) {
+                return false;
+            }
+            orphanLock.release();
+            return true;
+        } catch (OverlappingFileLockException | IOException e) {
+            return false;
+        }
+    }
+
+    private File tombstone(File dir) {
+        File tombstone = new File(dir.getParentFile(), dir.getName() + TOMBSTONE_SUFFIX);
+        try {
+            Files.move(dir.toPath(), tombstone.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return tombstone;
+        } catch (IOException e) {
+            log.warn("Rename user data directory '{}' to tombstone error, delete in place.", dir, e);
+            return dir;
+        }
+    }
+
+    private void delete(File dir) {
+        long start = System.currentTimeMillis();
+        try {
+            FileUtils.deleteDirectory(dir);
+            log.info("Deleted user data directory: {} in {} ms", dir, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.error("Failed to delete user data directory: {}", dir, e);
+        }
+    }
+
+    /**
+     * 等待已提交的删除任务完成，删除实例目录并释放锁
+     */
+    @Override
+    public void close() {
+        ThreadUtils.shutdownGracefully(executor, 30, TimeUnit.SECONDS);
+        try {
+            if (Objects.nonNull(lock)) {
+                lock.release();
+            }
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Release user data instance lock '{}' error.", instanceDir, e);
+        }
+        delete(instanceDir);
+    }
+
+}
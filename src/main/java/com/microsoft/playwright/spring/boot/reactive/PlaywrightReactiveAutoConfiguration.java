@@ -0,0 +1,39 @@
+package com.microsoft.playwright.spring.boot.reactive;
+
+import com.microsoft.playwright.spring.boot.PlaywrightAutoConfiguration;
+import com.microsoft.playwright.spring.boot.PlaywrightTemplate;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 类路径存在 Reactor 时注册 {@link ReactivePlaywrightTemplate}
+ */
+@Configuration
+@AutoConfigureAfter(PlaywrightAutoConfiguration.class)
+@ConditionalOnClass(Flux.class)
+@ConditionalOnBean(PlaywrightTemplate.class)
+public class PlaywrightReactiveAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactivePlaywrightTemplate reactivePlaywrightTemplate(PlaywrightTemplate playwrightTemplate){
+
+        // 并发数与上下文池容量一致，超过时只会在池中排队
+        int maxTotal = playwrightTemplate.getPageRenderer().getBrowserContextPool().getMaxTotal();
+        int concurrency = maxTotal > 0 ? maxTotal : Runtime.getRuntime().availableProcessors();
+
+        // 虚拟线程模式下在模板的虚拟线程执行器上渲染，否则使用 boundedElastic
+        Scheduler scheduler = playwrightTemplate.isVirtualThreads()
+                ? Schedulers.fromExecutorService(playwrightTemplate.getRenderExecutor()) : Schedulers.boundedElastic();
+
+        return new ReactivePlaywrightTemplate(playwrightTemplate, scheduler, concurrency);
+    }
+
+}
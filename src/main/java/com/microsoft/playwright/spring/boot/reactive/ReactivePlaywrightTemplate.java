@@ -0,0 +1,97 @@
+package com.microsoft.playwright.spring.boot.reactive;
+
+import com.microsoft.playwright.spring.boot.PlaywrightTemplate;
+import com.microsoft.playwright.spring.boot.render.RenderCancellation;
+import com.microsoft.playwright.spring.boot.render.RenderJob;
+import com.microsoft.playwright.spring.boot.render.RenderResult;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 基于 Reactor 的渲染接口。渲染在 scheduler（默认 boundedElastic）上阻塞执行，不占用事件循环线程；
+ * 订阅被取消时通过 {@link RenderCancellation} 在最迟一个检查间隔内放弃等待上下文或页面加载，关闭页面并归还上下文，
+ * 已取消的渲染不再占用浏览器。
+ */
+@Slf4j
+public class ReactivePlaywrightTemplate {
+
+    private final PlaywrightTemplate playwrightTemplate;
+    private final Scheduler scheduler;
+    private final int concurrency;
+
+    /**
+     * @param playwrightTemplate 同步模板
+     * @param scheduler 执行阻塞渲染的调度器
+     * @param concurrency {@link #renderAll(Publisher)} 同时执行的最大任务数，一般等于上下文池的 maxTotal
+     */
+    public ReactivePlaywrightTemplate(PlaywrightTemplate playwrightTemplate, Scheduler scheduler, int concurrency) {
+        this.playwrightTemplate = playwrightTemplate;
+        this.scheduler = scheduler;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public Mono<byte[]> screenshot(String url) {
+        return render(RenderJob.screenshot(url));
+    }
+
+    public Mono<byte[]> elementScreenshot(String url, String selector) {
+        return render(RenderJob.elementScreenshot(url, selector));
+    }
+
+    public Mono<byte[]> pdf(String url) {
+        return render(RenderJob.pdf(url));
+    }
+
+    public Mono<String> content(String url) {
+        return render(RenderJob.content(url));
+    }
+
+    /**
+     * 订阅时开始渲染，取消订阅时中止
+     */
+    public <T> Mono<T> render(RenderJob<T> job) {
+        return Mono.create(sink -> {
+            RenderCancellation cancellation = new RenderCancellation();
+            sink.onCancel(cancellation::cancel);
+            // 不通过中断取消任务，由渲染过程自行检查取消标记，保证页面关闭、上下文归还
+            scheduler.schedule(() -> {
+                if (cancellation.isCancelled()) {
+                    return;
+                }
+                try {
+                    sink.success(cancellation.call(() -> job.render(playwrightTemplate)));
+                } catch (Exception e) {
+                    if (cancellation.isCancelled()) {
+                        log.debug("Render {} cancelled.", job);
+                    } else {
+                        sink.error(e);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * 并发数取构造时的 concurrency，参见 {@link #renderAll(Publisher, int)}
+     */
+    public <T> Flux<RenderResult<T>> renderAll(Publisher<? extends RenderJob<T>> jobs) {
+        return renderAll(jobs, concurrency);
+    }
+
+    /**
+     * 批量渲染：最多向上游请求 concurrency 个任务，每完成一个且其结果被下游消费后才请求下一个，
+     * 因此借出上下文的速度受上下文池容量与下游消费速度共同限制。结果按完成顺序发出，失败的任务以失败结果发出而不终止序列
+     */
+    public <T> Flux<RenderResult<T>> renderAll(Publisher<? extends RenderJob<T>> jobs, int concurrency) {
+        return Flux.<RenderJob<T>>from(jobs).flatMap(job -> Mono.defer(() -> {
+            long begin = System.nanoTime();
+            return render(job)
+                    .map(value -> RenderResult.success(job, value, System.nanoTime() - begin))
+                    .onErrorResume(e -> Mono.just(RenderResult.failure(job, e, System.nanoTime() - begin)));
+        }), Math.max(1, concurrency), 1);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.microsoft.playwright.spring.boot.render;
+
+import java.time.Duration;
+
+/**
+ * 批量渲染的汇总
+ */
+public class BatchSummary {
+
+    private final long submitted;
+    private final long succeeded;
+    private final long failed;
+    private final boolean cancelled;
+    private final Duration elapsed;
+
+    public BatchSummary(long submitted, long succeeded, long failed, boolean cancelled, Duration elapsed) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.cancelled = cancelled;
+        this.elapsed = elapsed;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * 调用线程被中断，剩余任务未提交
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSummary[submitted=" + submitted + ", succeeded=" + succeeded + ", failed=" + failed
+                + ", cancelled=" + cancelled + ", elapsed=" + elapsed + "]";
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.microsoft.playwright.spring.boot.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将渲染阶段同时报告给多个 {@link RenderObserver}
+ */
+public class CompositeRenderObserver implements RenderObserver {
+
+    private final List<RenderObserver> observers;
+
+    public CompositeRenderObserver(List<RenderObserver> observers) {
+        this.observers = new ArrayList<>(observers);
+    }
+
+    /**
+     * 组合多个观测者，为空时返回 {@link RenderObserver#NOOP}，只有一个时直接返回它
+     */
+    public static RenderObserver of(List<RenderObserver> observers) {
+        if (observers.isEmpty()) {
+            return RenderObserver.NOOP;
+        }
+        return observers.size() == 1 ? observers.get(0) : new CompositeRenderObserver(observers);
+    }
+
+    @Override
+    public RenderScope start(RenderPhase phase, String url) {
+        List<RenderScope> scopes = new ArrayList<>(observers.size());
+        for (RenderObserver observer : observers) {
+            scopes.add(observer.start(phase, url));
+        }
+        return new CompositeRenderScope(scopes);
+    }
+
+    private static class CompositeRenderScope implements RenderScope {
+
+        private final List<RenderScope> scopes;
+
+        CompositeRenderScope(List<RenderScope> scopes) {
+            this.scopes = scopes;
+        }
+
+        @Override
+        public RenderScope child(RenderPhase phase) {
+            List<RenderScope> children = new ArrayList<>(scopes.size());
+            for (RenderScope scope : scopes) {
+                children.add(scope.child(phase));
+            }
+            return new CompositeRenderScope(children);
+        }
+
+        @Override
+        public RenderScope attribute(String key, Object value) {
+            scopes.forEach(scope -> scope.attribute(key, value));
+            return this;
+        }
+
+        @Override
+        public void error(Throwable cause) {
+            scopes.forEach(scope -> scope.error(cause));
+        }
+
+        @Override
+        public void close() {
+            scopes.forEach(RenderScope::close);
+        }
+
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.microsoft.playwright.spring.boot.render;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.options.PageNavigateOptions;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.pool.PlaywrightDriver;
+import com.microsoft.playwright.spring.boot.utils.PlaywrightUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 页面渲染：借出上下文、导航、等待加载、截图或生成 PDF，每个阶段都会报告给 {@link RenderObserver}。
+ * 导航拆分为 commit 与等待加载状态两个阶段，总超时仍为 {@link PageNavigateOptions#getTimeout()}
+ */
+@Slf4j
+public class PageRenderer {
+
+    public static final String ATTR_URL_HOST = "url.host";
+    public static final String ATTR_WAIT_UNTIL = "playwright.wait_until";
+    public static final String ATTR_OUTPUT_BYTES = "playwright.output.bytes";
+    public static final String ATTR_POOL_WAIT_MS = "playwright.pool.wait_ms";
+    public static final String ATTR_OPERATION = "playwright.operation";
+
+    private final BrowserContextPool browserContextPool;
+    private final PageNavigateOptions navigateOptions;
+    private final Page.ScreenshotOptions screenshotOptions;
+    private final Page.PdfOptions pdfOptions;
+    private final RenderObserver observer;
+
+    public PageRenderer(BrowserContextPool browserContextPool, PageNavigateOptions navigateOptions,
+                        Page.ScreenshotOptions screenshotOptions, Page.PdfOptions pdfOptions, RenderObserver observer) {
+        this.browserContextPool = browserContextPool;
+        this.navigateOptions = Objects.nonNull(navigateOptions) ? navigateOptions : new PageNavigateOptions();
+        this.screenshotOptions = Objects.nonNull(screenshotOptions) ? screenshotOptions : new Page.ScreenshotOptions();
+        this.pdfOptions = Objects.nonNull(pdfOptions) ? pdfOptions : new Page.PdfOptions();
+        this.observer = Objects.nonNull(observer) ? observer : RenderObserver.NOOP;
+    }
+
+    public BrowserContextPool getBrowserContextPool() {
+        return browserContextPool;
+    }
+
+    public byte[] screenshot(String url) {
+        return screenshot(url, navigateOptions, screenshotOptions);
+    }
+
+    public byte[] screenshot(String url, PageNavigateOptions navigateOptions, Page.ScreenshotOptions screenshotOptions) {
+        return render(url, navigateOptions, RenderPhase.screenshot, page -> page.screenshot(screenshotOptions));
+    }
+
+    public byte[] pdf(String url) {
+        return pdf(url, navigateOptions, pdfOptions);
+    }
+
+    public byte[] pdf(String url, PageNavigateOptions navigateOptions, Page.PdfOptions pdfOptions) {
+        return render(url, navigateOptions, RenderPhase.pdf, page -> page.pdf(pdfOptions));
+    }
+
+    public <T> T render(String url, PageNavigateOptions navigateOptions, RenderPhase capturePhase, Function<Page, T> capture) {
+        return render(url, navigateOptions, null, capturePhase, capture);
+    }
+
+    /**
+     * 借出上下文并打开新页面，导航到 url 后在驱动线程上执行 capture，关闭页面后归还上下文，返回其输出
+     * @param url 目标地址
+     * @param navigateOptions 导航参数
+     * @param emulateMedia 导航前在页面上应用的媒体模拟参数，为空时不模拟
+     * @param capturePhase 输出阶段，如 {@link RenderPhase#screenshot}、{@link RenderPhase#pdf}、{@link RenderPhase#content}、{@link RenderPhase#action}
+     * @param capture 在页面上生成输出的操作
+     * @return 输出内容
+     */
+    public <T> T render(String url, PageNavigateOptions navigateOptions, Page.EmulateMediaOptions emulateMedia,
+                        RenderPhase capturePhase, Function<Page, T> capture) {
+        RenderCancellation cancellation = RenderCancellation.current();
+        RenderScope scope = observer.start(RenderPhase.render, url);
+        try {
+            scope.attribute(ATTR_OPERATION, capturePhase.name()).attribute(ATTR_URL_HOST, getHost(url));
+            BrowserContext browserContext = borrow(scope, cancellation);
+            try {
+                return PlaywrightDriver.join(browserContextPool.submit(browserContext, () -> {
+                    // 排队等待驱动线程期间可能已被取消
+                    cancellation.throwIfCancelled();
+                    Page page = browserContext.newPage();
+                    try {
+                        if (Objects.nonNull(emulateMedia)) {
+                            page.emulateMedia(emulateMedia);
+                        }
+                        navigate(scope, page, url, navigateOptions, cancellation);
+                        cancellation.throwIfCancelled();
+                        return capture(scope, capturePhase, page, capture);
+                    } finally {
+                        PlaywrightUtil.closePage(page);
+                    }
+                }));
+            } finally {
+                browserContextPool.returnObject(browserContext);
+            }
+        } catch (RuntimeException e) {
+            scope.error(e);
+            throw e;
+        } finally {
+            scope.close();
+        }
+    }
+
+    protected BrowserContext borrow(RenderScope parent, RenderCancellation cancellation) {
+        RenderScope scope = parent.child(RenderPhase.borrow);
+        long start = System.nanoTime();
+        try {
+            if (cancellation.isCancellable()) {
+                return browserContextPool.borrowObject(browserContextPool.getMaxWaitDuration(), cancellation::isCancelled);
+            }
+            return browserContextPool.borrowObject();
+        } catch (CancellationException e) {
+            scope.error(e);
+            throw e;
+        } catch (Exception e) {
+            scope.error(e);
+            throw new PlaywrightException("Borrow BrowserContext error", e);
+        } finally {
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            scope.attribute(ATTR_POOL_WAIT_MS, waitMillis);
+            parent.attribute(ATTR_POOL_WAIT_MS, waitMillis);
+            scope.close();
+        }
+    }
+
+    /**
+     * 先以 commit 完成导航，再等待 waitUntil 指定的加载状态，两者共享导航超时；
+     * 可取消时加载状态分段等待，以便在分段之间响应取消
+     */
+    protected void navigate(RenderScope parent, Page page, String url, PageNavigateOptions options, RenderCancellation cancellation) {
+        WaitUntilState waitUntil = Objects.nonNull(options.getWaitUntil()) ? options.getWaitUntil() : WaitUntilState.LOAD;
+        long deadline = Objects.nonNull(options.getTimeout()) && options.getTimeout() > 0
+                ? System.currentTimeMillis() + options.getTimeout().longValue() : 0L;
+        Page.NavigateOptions navigateOptions = options.toOptions().setWaitUntil(WaitUntilState.COMMIT);
+        RenderScope scope = parent.child(RenderPhase.navigate).attribute(ATTR_URL_HOST, getHost(url));
+        try {
+            page.navigate(url, navigateOptions);
+        } catch (RuntimeException e) {
+            scope.error(e);
+            throw e;
+        } finally {
+            scope.close();
+        }
+        LoadState loadState = toLoadState(waitUntil);
+        if (Objects.isNull(loadState)) {
+            return;
+        }
+        scope = parent.child(RenderPhase.wait).attribute(ATTR_WAIT_UNTIL, waitUntil.name().toLowerCase());
+        try {
+            if (cancellation.isCancellable()) {
+                waitForLoadState(page, loadState, deadline, cancellation);
+            } else {
+                Page.WaitForLoadStateOptions waitOptions = new Page.WaitForLoadStateOptions();
+                if (deadline > 0L) {
+                    waitOptions.setTimeout(Math.max(1L, deadline - System.currentTimeMillis()));
+                }
+                page.waitForLoadState(loadState, waitOptions);
+            }
+        } catch (RuntimeException e) {
+            scope.error(e);
+            throw e;
+        } finally {
+            scope.close();
+        }
+    }
+
+    private void waitForLoadState(Page page, LoadState loadState, long deadline, RenderCancellation cancellation) {
+        while (true) {
+            cancellation.throwIfCancelled();
+            long remaining = deadline > 0L ? deadline - System.currentTimeMillis() : Long.MAX_VALUE;
+            if (remaining <= 0L) {
+                throw new TimeoutError("Timeout exceeded while waiting for load state '" + loadState + "'");
+            }
+            try {
+                page.waitForLoadState(loadState, new Page.WaitForLoadStateOptions()
+                        .setTimeout(Math.max(1L, Math.min(remaining, RenderCancellation.CHECK_INTERVAL.toMillis()))));
+                return;
+            } catch (TimeoutError e) {
+                if (deadline > 0L && System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    protected <T> T capture(RenderScope parent, RenderPhase phase, Page page, Function<Page, T> capture) {
+        RenderScope scope = parent.child(phase);
+        try {
+            T output = capture.apply(page);
+            long size = sizeOf(output);
+            scope.attribute(ATTR_OUTPUT_BYTES, size);
+            parent.attribute(ATTR_OUTPUT_BYTES, size);
+            return output;
+        } catch (RuntimeException e) {
+            scope.error(e);
+            throw e;
+        } finally {
+            scope.close();
+        }
+    }
+
+    private static long sizeOf(Object output) {
+        if (output instanceof byte[]) {
+            return ((byte[]) output).length;
+        }
+        if (output instanceof CharSequence) {
+            return ((CharSequence) output).length();
+        }
+        return 0L;
+    }
+
+    private static LoadState toLoadState(WaitUntilState waitUntil) {
+        switch (waitUntil) {
+            case LOAD:
+                return LoadState.LOAD;
+            case DOMCONTENTLOADED:
+                return LoadState.DOMCONTENTLOADED;
+            case NETWORKIDLE:
+                return LoadState.NETWORKIDLE;
+            default:
+                return null;
+        }
+    }
+
+    private static String getHost(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.microsoft.playwright.spring.boot.render;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 渲染的取消标记。通过 {@link #call(Supplier)} 绑定到调用线程后，{@link PageRenderer} 会以分段方式等待上下文与页面加载，
+ * 在每段之间检查标记；取消后最迟一个分段即关闭页面、归还上下文并抛出 {@link CancellationException}。
+ * 已经发出的导航请求（commit 阶段）及正在进行的截图、PDF 生成无法中断，会在其完成后放弃结果
+ */
+public class RenderCancellation {
+
+    /**
+     * 可取消时分段等待的最长时间
+     */
+    public static final Duration CHECK_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * 未绑定时使用，不可取消，渲染按原有方式一次性等待
+     */
+    public static final RenderCancellation NONE = new RenderCancellation(false);
+
+    private static final ThreadLocal<RenderCancellation> CURRENT = new ThreadLocal<>();
+
+    private final boolean cancellable;
+    private final BooleanSupplier condition;
+    private volatile boolean cancelled = false;
+
+    public RenderCancellation() {
+        this(true);
+    }
+
+    /**
+     * condition 成立时视为已取消，每次检查时求值，用于由多个请求共享的渲染（所有请求都放弃后取消）
+     */
+    public RenderCancellation(BooleanSupplier condition) {
+        this.cancellable = true;
+        this.condition = condition;
+    }
+
+    private RenderCancellation(boolean cancellable) {
+        this.cancellable = cancellable;
+        this.condition = () -> false;
+    }
+
+    /**
+     * 当前线程绑定的取消标记，未绑定时为 {@link #NONE}
+     */
+    public static RenderCancellation current() {
+        RenderCancellation cancellation = CURRENT.get();
+        return cancellation != null ? cancellation : NONE;
+    }
+
+    /**
+     * 在当前线程绑定本标记的情况下执行 action，其中发起的渲染均可被 {@link #cancel()} 取消
+     */
+    public <T> T call(Supplier<T> action) {
+        RenderCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public void cancel() {
+        if (cancellable) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancellable() {
+        return cancellable;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || condition.getAsBoolean();
+    }
+
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Render cancelled");
+        }
+    }
+
+}
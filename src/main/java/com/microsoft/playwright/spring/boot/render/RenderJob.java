@@ -0,0 +1,78 @@
+package com.microsoft.playwright.spring.boot.render;
+
+import com.microsoft.playwright.spring.boot.PlaywrightTemplate;
+import com.microsoft.playwright.spring.boot.options.PagePdfOptions;
+import com.microsoft.playwright.spring.boot.options.PageScreenshotOptions;
+
+import java.util.function.BiFunction;
+
+/**
+ * 批量渲染中的一个任务：目标地址、在 {@link PlaywrightTemplate} 上执行的渲染操作，以及调用方用于关联结果的附件（如序号、文件名）
+ * @param <T> 渲染结果类型
+ */
+public class RenderJob<T> {
+
+    private final String url;
+    private final BiFunction<PlaywrightTemplate, String, T> action;
+    private final Object attachment;
+
+    protected RenderJob(String url, BiFunction<PlaywrightTemplate, String, T> action, Object attachment) {
+        this.url = url;
+        this.action = action;
+        this.attachment = attachment;
+    }
+
+    public static <T> RenderJob<T> of(String url, BiFunction<PlaywrightTemplate, String, T> action) {
+        return new RenderJob<>(url, action, null);
+    }
+
+    public static RenderJob<byte[]> screenshot(String url) {
+        return of(url, PlaywrightTemplate::screenshot);
+    }
+
+    public static RenderJob<byte[]> screenshot(String url, PageScreenshotOptions screenshotOptions) {
+        return of(url, (template, target) -> template.screenshot(target, screenshotOptions));
+    }
+
+    public static RenderJob<byte[]> elementScreenshot(String url, String selector) {
+        return of(url, (template, target) -> template.elementScreenshot(target, selector));
+    }
+
+    public static RenderJob<byte[]> pdf(String url) {
+        return of(url, PlaywrightTemplate::pdf);
+    }
+
+    public static RenderJob<byte[]> pdf(String url, PagePdfOptions pdfOptions) {
+        return of(url, (template, target) -> template.pdf(target, pdfOptions));
+    }
+
+    public static RenderJob<String> content(String url) {
+        return of(url, PlaywrightTemplate::content);
+    }
+
+    /**
+     * 返回带有附件的新任务，附件随结果一起交给调用方
+     */
+    public RenderJob<T> attach(Object attachment) {
+        return new RenderJob<>(url, action, attachment);
+    }
+
+    public T render(PlaywrightTemplate template) {
+        return action.apply(template, url);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <A> A getAttachment() {
+        return (A) attachment;
+    }
+
+    @Override
+    public String toString() {
+        return "RenderJob[" + url + "]";
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.microsoft.playwright.spring.boot.render;
+
+/**
+ * 渲染观测扩展点，用于接入链路追踪等工具，默认不做任何记录
+ */
+public interface RenderObserver {
+
+    RenderObserver NOOP = (phase, url) -> RenderScope.NOOP;
+
+    /**
+     * 开始一次渲染，在调用线程上执行
+     * @param phase 渲染阶段，通常为 {@link RenderPhase#render}
+     * @param url 目标地址
+     * @return 渲染的观测范围
+     */
+    RenderScope start(RenderPhase phase, String url);
+
+}
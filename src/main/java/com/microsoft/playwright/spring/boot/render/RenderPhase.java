@@ -0,0 +1,41 @@
+package com.microsoft.playwright.spring.boot.render;
+
+/**
+ * 一次渲染的各个阶段
+ */
+public enum RenderPhase {
+
+    /**
+     * 整个渲染操作，其余阶段均为其子阶段
+     */
+    render,
+    /**
+     * 从上下文池借出上下文
+     */
+    borrow,
+    /**
+     * 导航到目标地址，直到收到响应并提交
+     */
+    navigate,
+    /**
+     * 等待页面达到 waitUntil 指定的加载状态
+     */
+    wait,
+    /**
+     * 截图
+     */
+    screenshot,
+    /**
+     * 生成 PDF
+     */
+    pdf,
+    /**
+     * 读取页面 HTML
+     */
+    content,
+    /**
+     * 自定义页面操作，参见 PlaywrightTemplate#execute
+     */
+    action
+
+}
@@ -0,0 +1,55 @@
+package com.microsoft.playwright.spring.boot.render;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 批量渲染中一个任务的结果，成功时包含输出，失败时包含异常
+ * @param <T> 渲染结果类型
+ */
+public class RenderResult<T> {
+
+    private final RenderJob<T> job;
+    private final T value;
+    private final Throwable error;
+    private final long durationNanos;
+
+    RenderResult(RenderJob<T> job, T value, Throwable error, long durationNanos) {
+        this.job = job;
+        this.value = value;
+        this.error = error;
+        this.durationNanos = durationNanos;
+    }
+
+    public static <T> RenderResult<T> success(RenderJob<T> job, T value, long durationNanos) {
+        return new RenderResult<>(job, value, null, durationNanos);
+    }
+
+    public static <T> RenderResult<T> failure(RenderJob<T> job, Throwable error, long durationNanos) {
+        return new RenderResult<>(job, null, error, durationNanos);
+    }
+
+    public boolean isSuccess() {
+        return Objects.isNull(error);
+    }
+
+    public RenderJob<T> getJob() {
+        return job;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * 任务耗时，含等待上下文的时间
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+}
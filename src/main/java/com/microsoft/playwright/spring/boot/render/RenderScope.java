@@ -0,0 +1,45 @@
+package com.microsoft.playwright.spring.boot.render;
+
+/**
+ * 一个渲染阶段的观测范围，由 {@link RenderObserver} 创建，阶段结束时关闭
+ */
+public interface RenderScope extends AutoCloseable {
+
+    RenderScope NOOP = new RenderScope() {
+
+        @Override
+        public RenderScope child(RenderPhase phase) {
+            return this;
+        }
+
+        @Override
+        public RenderScope attribute(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        public void error(Throwable cause) {
+        }
+
+        @Override
+        public void close() {
+        }
+
+    };
+
+    /**
+     * 开始一个子阶段，子阶段可以在其他线程上关闭
+     */
+    RenderScope child(RenderPhase phase);
+
+    RenderScope attribute(String key, Object value);
+
+    /**
+     * 记录阶段失败的原因
+     */
+    void error(Throwable cause);
+
+    @Override
+    void close();
+
+}
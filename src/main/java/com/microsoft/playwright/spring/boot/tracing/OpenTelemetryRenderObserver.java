@@ -0,0 +1,86 @@
+package com.microsoft.playwright.spring.boot.tracing;
+
+import com.microsoft.playwright.spring.boot.render.RenderObserver;
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import com.microsoft.playwright.spring.boot.render.RenderScope;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+
+import java.util.Objects;
+
+/**
+ * 以 OpenTelemetry span 记录渲染阶段：根 span 的父级为调用线程的当前上下文，
+ * 各阶段 span 显式以根 span 为父级，因此在驱动线程上开始的阶段也能正确关联
+ */
+public class OpenTelemetryRenderObserver implements RenderObserver {
+
+    public static final String SPAN_PREFIX = "playwright.";
+
+    private final Tracer tracer;
+
+    public OpenTelemetryRenderObserver(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public RenderScope start(RenderPhase phase, String url) {
+        return startSpan(phase, Context.current());
+    }
+
+    private SpanScope startSpan(RenderPhase phase, Context parent) {
+        Span span = tracer.spanBuilder(SPAN_PREFIX + phase.name())
+                .setParent(parent)
+                .setSpanKind(phase == RenderPhase.render ? SpanKind.CLIENT : SpanKind.INTERNAL)
+                .startSpan();
+        return new SpanScope(span, parent.with(span));
+    }
+
+    private class SpanScope implements RenderScope {
+
+        private final Span span;
+        private final Context context;
+
+        SpanScope(Span span, Context context) {
+            this.span = span;
+            this.context = context;
+        }
+
+        @Override
+        public RenderScope child(RenderPhase phase) {
+            return startSpan(phase, context);
+        }
+
+        @Override
+        public RenderScope attribute(String key, Object value) {
+            if (Objects.isNull(value)) {
+                return this;
+            }
+            if (value instanceof Long || value instanceof Integer) {
+                span.setAttribute(key, ((Number) value).longValue());
+            } else if (value instanceof Number) {
+                span.setAttribute(key, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                span.setAttribute(key, (Boolean) value);
+            } else {
+                span.setAttribute(key, value.toString());
+            }
+            return this;
+        }
+
+        @Override
+        public void error(Throwable cause) {
+            span.recordException(cause);
+            span.setStatus(StatusCode.ERROR, String.valueOf(cause.getMessage()));
+        }
+
+        @Override
+        public void close() {
+            span.end();
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.microsoft.playwright.spring.boot.tracing;
+
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 类路径存在 OpenTelemetry API 时以 span 记录渲染阶段；优先使用容器中的 {@link OpenTelemetry}，否则使用全局实例
+ */
+@Configuration
+@AutoConfigureBefore(name = "com.microsoft.playwright.spring.boot.PlaywrightAutoConfiguration")
+@ConditionalOnClass(Tracer.class)
+@ConditionalOnProperty(prefix = PlaywrightProperties.PREFIX, name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class PlaywrightTracingAutoConfiguration {
+
+    public static final String INSTRUMENTATION_NAME = "io.github.hiwepy.playwright-spring-boot-starter";
+
+    @Bean
+    @ConditionalOnMissingBean(OpenTelemetryRenderObserver.class)
+    public OpenTelemetryRenderObserver openTelemetryRenderObserver(ObjectProvider<OpenTelemetry> openTelemetry){
+        OpenTelemetry instance = openTelemetry.getIfAvailable(GlobalOpenTelemetry::get);
+        return new OpenTelemetryRenderObserver(instance.getTracer(INSTRUMENTATION_NAME));
+    }
+
+}
@@ -4,7 +4,7 @@ public class JmxBeanUtils {
 
     public static <T> String getObjectName(Class<T> tClass) {
         String packageName = tClass.getPackage().getName();
-        String objectName = packageName + ":type=" + tClass.getSimpleName();
+        String objectName = packageName + ":type=" + tClass.getSimpleName() + ",name=";
         return objectName;
     }
 
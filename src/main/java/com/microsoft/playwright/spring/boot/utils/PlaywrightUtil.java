@@ -8,6 +8,8 @@ import com.microsoft.playwright.spring.boot.PlaywrightProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.PropertyMapper;
 
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -61,6 +63,39 @@ public class PlaywrightUtil {
         page.evaluate("window.localStorage.clear();");
     }
 
+    /**
+     * 清空当前页面所在源的 localStorage、sessionStorage 及 IndexedDB
+     *
+     * @param page page
+     */
+    public static void clearStorage(Page page) {
+        page.evaluate("async () => {"
+                + " try { window.localStorage.clear(); } catch (e) {}"
+                + " try { window.sessionStorage.clear(); } catch (e) {}"
+                + " try { if (window.indexedDB && window.indexedDB.databases) {"
+                + " const dbs = await window.indexedDB.databases();"
+                + " dbs.forEach(db => window.indexedDB.deleteDatabase(db.name)); } } catch (e) {}"
+                + " }");
+    }
+
+    /**
+     * 获取 http(s) 地址的源（scheme://host[:port]），其他地址返回 {@code null}
+     *
+     * @param url url
+     * @return origin
+     */
+    public static String getOrigin(String url) {
+        try {
+            URL parsed = new URL(url);
+            if (!"http".equals(parsed.getProtocol()) && !"https".equals(parsed.getProtocol())) {
+                return null;
+            }
+            return parsed.getProtocol() + "://" + parsed.getHost() + (parsed.getPort() < 0 ? "" : ":" + parsed.getPort());
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
     /**
      * 滑动滑块
      *
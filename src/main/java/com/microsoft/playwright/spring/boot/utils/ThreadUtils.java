@@ -25,11 +25,61 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Slf4j
 public final class ThreadUtils {
 
+    private static final class VirtualThreads {
+
+        private static final boolean SUPPORTED = detect();
+
+        private static boolean detect() {
+            try {
+                newVirtualThreadFactory("playwright-probe");
+                return true;
+            } catch (UnsupportedOperationException e) {
+                return false;
+            }
+        }
+
+    }
+
     public static ExecutorService newThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime,
                                                         TimeUnit unit, BlockingQueue<Runnable> workQueue, String processName, boolean isDaemon) {
         return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, newThreadFactory(processName, isDaemon));
     }
 
+    /**
+     * 当前 JVM 是否支持虚拟线程（Java 21+）。starter 以 Java 8 编译，虚拟线程相关 API 均通过反射调用
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.SUPPORTED;
+    }
+
+    /**
+     * 创建虚拟线程工厂，线程名为 processName-序号
+     * @throws UnsupportedOperationException 当前 JVM 不支持虚拟线程
+     */
+    public static ThreadFactory newVirtualThreadFactory(String processName) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, processName + "-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
+    /**
+     * 为每个任务启动一个虚拟线程的执行器
+     * @throws UnsupportedOperationException 当前 JVM 不支持虚拟线程
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String processName) {
+        ThreadFactory threadFactory = newVirtualThreadFactory(processName);
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
     public static ExecutorService newSingleThreadExecutor(String processName, boolean isDaemon) {
         return Executors.newSingleThreadExecutor(newThreadFactory(processName, isDaemon));
     }
@@ -0,0 +1,148 @@
+package com.microsoft.playwright.spring.boot.blocking;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.spring.boot.PlaywrightProperties;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceBlockerTest {
+
+    @Test
+    public void siteKeepsRegistrableDomain() {
+        assertEquals("example.com", ResourceBlocker.site("https://www.example.com/a?b=c"));
+        assertEquals("example.com", ResourceBlocker.site("http://EXAMPLE.com:8080/"));
+        assertEquals("example.com.cn", ResourceBlocker.site("https://static.example.com.cn/app.js"));
+        assertEquals("b.co.uk", ResourceBlocker.site("https://a.b.co.uk/"));
+        assertEquals("gstatic.com", ResourceBlocker.site("https://fonts.gstatic.com/s/roboto.woff2"));
+        assertEquals("127.0.0.1", ResourceBlocker.site("http://127.0.0.1:3000/"));
+        assertEquals("[::1]", ResourceBlocker.site("http://[::1]:3000/"));
+        assertEquals("localhost", ResourceBlocker.site("http://localhost/"));
+    }
+
+    @Test
+    public void siteOfUrlWithoutHostIsNull() {
+        assertNull(ResourceBlocker.site("about:blank"));
+        assertNull(ResourceBlocker.site("data:text/html,hi"));
+        assertNull(ResourceBlocker.site("not a url"));
+    }
+
+    @Test
+    public void browserPatternCollapsesWildcards() {
+        assertEquals("*.doubleclick.net/*", ResourceBlocker.toBrowserPattern("**.doubleclick.net/**"));
+        assertEquals("*/*.mp4", ResourceBlocker.toBrowserPattern("**/*.mp4"));
+        assertEquals("https://example.com/ads.js", ResourceBlocker.toBrowserPattern("https://example.com/ads.js"));
+    }
+
+    @Test
+    public void browserPatternRejectsUnsupportedGlobs() {
+        assertNull(ResourceBlocker.toBrowserPattern(null));
+        assertNull(ResourceBlocker.toBrowserPattern("**/*.{png,jpg}"));
+        assertNull(ResourceBlocker.toBrowserPattern("**/image?.png"));
+        assertNull(ResourceBlocker.toBrowserPattern("**/[ab].js"));
+    }
+
+    @Test
+    public void contextsFallBackToRoutesOnceCdpIsUnavailable() {
+        ResourceBlockingConfig config = new ResourceBlockingConfig();
+        config.getRules().add(ResourceBlockingRule.ofPatterns("**/ads/**", "**/*.mp4"));
+        ResourceBlocker blocker = new ResourceBlocker(config, PlaywrightProperties.BrowserType.chromium);
+        AtomicBoolean cdpAvailable = new AtomicBoolean(true);
+        StubContext first = new StubContext(cdpAvailable);
+        StubContext second = new StubContext(cdpAvailable);
+        blocker.customize(first.context, null);
+        blocker.customize(second.context, null);
+        first.openPage();
+        assertEquals(1, first.cdpSessions);
+        assertTrue(first.routes.isEmpty());
+
+        // 第二个上下文发现 CDP 不可用后改用路由，第一个上下文之后打开的页面同样改用路由
+        cdpAvailable.set(false);
+        second.openPage();
+        assertEquals(2, second.routes.size());
+        first.openPage();
+        first.openPage();
+        assertEquals(1, first.cdpSessions);
+        assertEquals(2, first.routes.size());
+
+        // 之后创建的上下文直接使用路由
+        StubContext third = new StubContext(cdpAvailable);
+        blocker.customize(third.context, null);
+        third.openPage();
+        assertEquals(0, third.cdpSessions);
+        assertEquals(2, third.routes.size());
+    }
+
+    private static class StubContext {
+
+        private final List<Consumer<Page>> pageHandlers = new ArrayList<>();
+        private final List<String> routes = new ArrayList<>();
+        private final BrowserContext context;
+        private int cdpSessions = 0;
+
+        @SuppressWarnings("unchecked")
+        StubContext(AtomicBoolean cdpAvailable) {
+            this.context = stub(BrowserContext.class, (method, args) -> {
+                switch (method) {
+                    case "onPage":
+                        pageHandlers.add((Consumer<Page>) args[0]);
+                        return null;
+                    case "pages":
+                        return Collections.emptyList();
+                    case "route":
+                        routes.add(String.valueOf(args[0]));
+                        return null;
+                    case "newCDPSession":
+                        if (!cdpAvailable.get()) {
+                            throw new UnsupportedOperationException("CDP session is only available in Chromium");
+                        }
+                        cdpSessions++;
+                        return stub(CDPSession.class, (sessionMethod, sessionArgs) -> null);
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        void openPage() {
+            Page page = stub(Page.class, (method, args) -> null);
+            pageHandlers.forEach(handler -> handler.accept(page));
+        }
+
+    }
+
+    interface StubMethod {
+
+        Object invoke(String name, Object[] args);
+
+    }
+
+    static <T> T stub(Class<T> type, StubMethod handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "Stub" + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    Object result = handler.invoke(method.getName(), args);
+                    if (result == null && method.getReturnType() == boolean.class) {
+                        return Boolean.FALSE;
+                    }
+                    return result;
+            }
+        }));
+    }
+
+}
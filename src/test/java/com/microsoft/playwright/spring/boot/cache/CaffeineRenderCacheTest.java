@@ -0,0 +1,32 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaffeineRenderCacheTest {
+
+    @Test
+    public void loadsOnceAndServesCopies() {
+        CaffeineRenderCache cache = new CaffeineRenderCache(new RenderCacheConfig());
+        AtomicInteger loads = new AtomicInteger(0);
+        byte[] miss = cache.get("key", RenderPhase.screenshot, () -> {
+            loads.incrementAndGet();
+            return new byte[]{1, 2, 3};
+        });
+        // 修改未命中时返回的结果不影响缓存
+        miss[0] = 9;
+        byte[] hit = cache.get("key", RenderPhase.screenshot, () -> {
+            loads.incrementAndGet();
+            return new byte[0];
+        });
+        assertArrayEquals(new byte[]{1, 2, 3}, hit);
+        hit[1] = 9;
+        assertArrayEquals(new byte[]{1, 2, 3}, cache.get("key", RenderPhase.screenshot, () -> new byte[0]));
+        assertEquals(1, loads.get());
+    }
+
+}
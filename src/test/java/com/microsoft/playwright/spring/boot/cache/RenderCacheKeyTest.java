@@ -0,0 +1,58 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.microsoft.playwright.options.WaitUntilState;
+import com.microsoft.playwright.spring.boot.options.PageNavigateOptions;
+import com.microsoft.playwright.spring.boot.options.PageScreenshotOptions;
+import com.microsoft.playwright.spring.boot.render.RenderPhase;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderCacheKeyTest {
+
+    private static final String URL = "https://example.com/";
+
+    @Test
+    public void keyFormatIsPinned() {
+        // 键的格式变化会使已有的缓存全部失效，需要同时修改版本号
+        assertEquals("cf1c0ff16257dd31b96cfb6dc72ce4d014d1a3bad24d3f6e7dc731a01b6c4952",
+                RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx"));
+    }
+
+    @Test
+    public void equalOptionsGiveEqualKeys() {
+        String first = RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx", navigateOptions(), screenshotOptions("a.png"));
+        String second = RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx", navigateOptions(), screenshotOptions("a.png"));
+        assertEquals(first, second);
+        assertEquals(64, first.length());
+        assertEquals(RenderCacheKey.fingerprint(navigateOptions(), 1280), RenderCacheKey.fingerprint(navigateOptions(), 1280));
+    }
+
+    @Test
+    public void differentInputsGiveDifferentKeys() {
+        String key = RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx", navigateOptions(), screenshotOptions("a.png"));
+        assertNotEquals(key, RenderCacheKey.of(RenderPhase.pdf, URL, "ctx", navigateOptions(), screenshotOptions("a.png")));
+        assertNotEquals(key, RenderCacheKey.of(RenderPhase.screenshot, URL + "other", "ctx", navigateOptions(), screenshotOptions("a.png")));
+        assertNotEquals(key, RenderCacheKey.of(RenderPhase.screenshot, URL, "other", navigateOptions(), screenshotOptions("a.png")));
+        assertNotEquals(key, RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx",
+                navigateOptions().setWaitUntil(WaitUntilState.LOAD), screenshotOptions("a.png")));
+        assertNotEquals(key, RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx", navigateOptions(), screenshotOptions("b.png")));
+        assertNotEquals(key, RenderCacheKey.of(RenderPhase.screenshot, URL, "ctx", navigateOptions(), screenshotOptions("a.png").setFullPage(false)));
+    }
+
+    @Test
+    public void partBoundariesAreKept() {
+        assertNotEquals(RenderCacheKey.of(RenderPhase.content, URL, "ab", "c"), RenderCacheKey.of(RenderPhase.content, URL, "a", "bc"));
+    }
+
+    private static PageNavigateOptions navigateOptions() {
+        return new PageNavigateOptions().setTimeout(10000D).setWaitUntil(WaitUntilState.NETWORKIDLE);
+    }
+
+    private static PageScreenshotOptions screenshotOptions(String path) {
+        return new PageScreenshotOptions().setPath(Paths.get(path)).setQuality(80);
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.spring.boot.render.RenderCancellation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderCoalescerTest {
+
+    private static final String KEY = "key";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private RenderCoalescer coalescer;
+    private ExecutorService executor;
+    private final AtomicInteger loads = new AtomicInteger(0);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicBoolean loaderCancelled = new AtomicBoolean(false);
+
+    @BeforeEach
+    public void setUp() {
+        coalescer = new RenderCoalescer();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentRequestsShareOneRender() throws Exception {
+        int requests = 20;
+        List<Future<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad)));
+        }
+        awaitCoalesced(requests - 1);
+        release.countDown();
+        List<byte[]> results = new ArrayList<>();
+        for (Future<byte[]> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        for (byte[] result : results) {
+            assertArrayEquals(new byte[]{1, 2, 3}, result);
+        }
+        // 每个请求拿到各自的副本
+        assertEquals(requests, results.stream().map(System::identityHashCode).distinct().count());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void failureIsSharedWithWaiters() throws Exception {
+        IllegalStateException failure = new IllegalStateException("render failed");
+        Future<Object> leader = executor.submit(() -> coalescer.execute(KEY, TIMEOUT, () -> {
+            await(release);
+            throw failure;
+        }));
+        awaitInFlight();
+        Future<Object> follower = executor.submit(() -> coalescer.execute(KEY, TIMEOUT, () -> {
+            throw new AssertionError("follower must not render");
+        }));
+        awaitCoalesced(1);
+        release.countDown();
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    public void waiterTimesOutWithoutAffectingOthers() throws Exception {
+        Future<byte[]> leader = executor.submit(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad));
+        awaitInFlight();
+        Future<byte[]> impatient = executor.submit(() -> coalescer.execute(KEY, Duration.ofMillis(100), this::blockingLoad));
+        Future<byte[]> patient = executor.submit(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad));
+        assertTrue(assertThrows(ExecutionException.class, () -> impatient.get(10, TimeUnit.SECONDS)).getCause() instanceof TimeoutError);
+        release.countDown();
+        assertArrayEquals(new byte[]{1, 2, 3}, leader.get(10, TimeUnit.SECONDS));
+        assertArrayEquals(new byte[]{1, 2, 3}, patient.get(10, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertFalse(loaderCancelled.get());
+    }
+
+    @Test
+    public void cancelledLeaderKeepsRenderingForWaiters() throws Exception {
+        RenderCancellation leaderCancellation = new RenderCancellation();
+        Future<byte[]> leader = executor.submit(() -> leaderCancellation.call(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad)));
+        awaitInFlight();
+        Future<byte[]> follower = executor.submit(() -> new RenderCancellation().call(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad)));
+        awaitCoalesced(1);
+        leaderCancellation.cancel();
+        Thread.sleep(RenderCancellation.CHECK_INTERVAL.toMillis() * 2);
+        assertFalse(loaderCancelled.get());
+        release.countDown();
+        assertArrayEquals(new byte[]{1, 2, 3}, follower.get(10, TimeUnit.SECONDS));
+        leader.get(10, TimeUnit.SECONDS);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void renderIsCancelledWhenAllRequestsCancel() throws Exception {
+        RenderCancellation leaderCancellation = new RenderCancellation();
+        RenderCancellation followerCancellation = new RenderCancellation();
+        Future<byte[]> leader = executor.submit(() -> leaderCancellation.call(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad)));
+        awaitInFlight();
+        Future<byte[]> follower = executor.submit(() -> followerCancellation.call(() -> coalescer.execute(KEY, TIMEOUT, this::blockingLoad)));
+        awaitCoalesced(1);
+        leaderCancellation.cancel();
+        followerCancellation.cancel();
+        assertTrue(assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS)).getCause() instanceof CancellationException);
+        assertTrue(assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS)).getCause() instanceof CancellationException);
+        assertTrue(loaderCancelled.get());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    /**
+     * 等待 release 后返回结果；渲染被取消时抛出 {@link CancellationException}
+     */
+    private byte[] blockingLoad() {
+        loads.incrementAndGet();
+        RenderCancellation cancellation = RenderCancellation.current();
+        try {
+            while (!release.await(10, TimeUnit.MILLISECONDS)) {
+                if (cancellation.isCancelled()) {
+                    loaderCancelled.set(true);
+                    throw new CancellationException("render cancelled");
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new CancellationException("interrupted");
+        }
+        return new byte[]{1, 2, 3};
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.getInFlight() == 0) {
+            assertTrue(System.nanoTime() < deadline, "no render in flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.getCoalesced() < count) {
+            assertTrue(System.nanoTime() < deadline, "coalesced " + coalescer.getCoalesced());
+            Thread.sleep(5);
+        }
+    }
+
+}
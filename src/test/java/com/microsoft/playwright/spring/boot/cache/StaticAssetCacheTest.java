@@ -0,0 +1,62 @@
+package com.microsoft.playwright.spring.boot.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticAssetCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void maxAge() {
+        assertEquals(NOW + 3_600_000L, StaticAssetCache.freshUntil(headers("cache-control", "public, max-age=3600"), NOW));
+        assertEquals(NOW + 60_000L, StaticAssetCache.freshUntil(headers("cache-control", "max-age=\"60\""), NOW));
+        assertEquals(NOW, StaticAssetCache.freshUntil(headers("cache-control", "max-age=0"), NOW));
+    }
+
+    @Test
+    public void sharedMaxAgeTakesPrecedence() {
+        assertEquals(NOW + 60_000L, StaticAssetCache.freshUntil(headers("cache-control", "max-age=3600, s-maxage=60"), NOW));
+        assertEquals(NOW + 60_000L, StaticAssetCache.freshUntil(headers("cache-control", "s-maxage=60, max-age=3600"), NOW));
+    }
+
+    @Test
+    public void expiresRelativeToDate() {
+        Map<String, String> headers = headers("expires", "Thu, 01 Jan 2015 01:00:00 GMT");
+        headers.put("date", "Thu, 01 Jan 2015 00:00:00 GMT");
+        assertEquals(NOW + 3_600_000L, StaticAssetCache.freshUntil(headers, NOW));
+        // 已过期
+        headers.put("date", "Thu, 01 Jan 2015 02:00:00 GMT");
+        assertEquals(NOW, StaticAssetCache.freshUntil(headers, NOW));
+    }
+
+    @Test
+    public void maxAgeOverridesExpires() {
+        Map<String, String> headers = headers("cache-control", "max-age=10");
+        headers.put("expires", "Thu, 01 Jan 2015 01:00:00 GMT");
+        headers.put("date", "Thu, 01 Jan 2015 00:00:00 GMT");
+        assertEquals(NOW + 10_000L, StaticAssetCache.freshUntil(headers, NOW));
+    }
+
+    @Test
+    public void noCacheAlwaysRevalidates() {
+        assertEquals(0L, StaticAssetCache.freshUntil(headers("cache-control", "No-Cache, max-age=3600"), NOW));
+    }
+
+    @Test
+    public void withoutFreshnessInformation() {
+        assertEquals(0L, StaticAssetCache.freshUntil(new HashMap<>(), NOW));
+        assertEquals(0L, StaticAssetCache.freshUntil(headers("expires", "0"), NOW));
+    }
+
+    private static Map<String, String> headers(String name, String value) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(name, value);
+        return headers;
+    }
+
+}
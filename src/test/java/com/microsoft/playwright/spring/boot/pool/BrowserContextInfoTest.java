@@ -0,0 +1,59 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.Browser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrowserContextInfoTest {
+
+    @Test
+    public void notRetiredWithoutPolicy() {
+        BrowserContextInfo info = new BrowserContextInfo(null, newBrowser(), null);
+        for (int i = 0; i < 100; i++) {
+            info.markUsed();
+        }
+        assertFalse(info.isRetired());
+    }
+
+    @Test
+    public void retiredAfterMaxUses() {
+        BrowserContextInfo info = new BrowserContextInfo(null, newBrowser(), null, new RetirementPolicy(null, 3, 0D));
+        info.markUsed();
+        info.markUsed();
+        assertFalse(info.isRetired());
+        info.markUsed();
+        assertTrue(info.isRetired());
+    }
+
+    @Test
+    public void retiredAfterMaxLifetime() throws InterruptedException {
+        BrowserContextInfo info = new BrowserContextInfo(null, newBrowser(), null, new RetirementPolicy(Duration.ofMillis(50), 0, 0D));
+        assertFalse(info.isRetired());
+        Thread.sleep(80L);
+        assertTrue(info.isRetired());
+    }
+
+    @Test
+    public void retiredWhenEvicted() {
+        BrowserContextInfo info = new BrowserContextInfo(null, newBrowser(), null);
+        info.evict();
+        assertTrue(info.isRetired());
+    }
+
+    @Test
+    public void retiredWhenBrowserExpires() {
+        PlaywrightBrowser browser = newBrowser();
+        BrowserContextInfo info = new BrowserContextInfo(null, browser, null);
+        assertFalse(info.isRetired());
+        browser.retire();
+        assertTrue(info.isRetired());
+    }
+
+    private static PlaywrightBrowser newBrowser() {
+        return new PlaywrightBrowser(null, (Browser) null);
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrowserContextPoolTest {
+
+    private BrowserContextPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void borrowCreatesContextsOnBackgroundExecutor() throws Exception {
+        StubBrowserContextFactory factory = new StubBrowserContextFactory(TimeUnit.MILLISECONDS.toMicros(20), null);
+        pool = newPool(factory, 4);
+        int borrowers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(borrowers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < borrowers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10; j++) {
+                        BrowserContext browserContext = pool.borrowObject(Duration.ofSeconds(10));
+                        pool.returnObject(browserContext);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(factory.created.get() <= 4, "created " + factory.created.get());
+        // 借出线程结束时可能仍有后台创建未完成，等待池计入
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (factory.created.get() != (int) pool.getCreatedCount()) {
+                TimeUnit.MILLISECONDS.sleep(10L);
+            }
+        });
+        for (String thread : factory.threads) {
+            assertTrue(thread.contains("playwright-context-creator"), thread);
+        }
+    }
+
+    @Test
+    public void creationFailureIsRethrownToWaitingBorrower() {
+        IllegalStateException failure = new IllegalStateException("launch failed");
+        StubBrowserContextFactory factory = new StubBrowserContextFactory(0, failure);
+        pool = newPool(factory, 2);
+        PlaywrightException e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(PlaywrightException.class, () -> pool.borrowObject(Duration.ofMillis(-1))));
+        assertSame(failure, e.getCause());
+        assertEquals(1, factory.attempts.get());
+    }
+
+    @Test
+    public void repeatedCreationFailuresBackOff() throws Exception {
+        StubBrowserContextFactory factory = new StubBrowserContextFactory(0, new IllegalStateException("launch failed"));
+        pool = newPool(factory, 2);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PlaywrightException.class, () -> pool.borrowObject(Duration.ofSeconds(10)));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(3, factory.attempts.get());
+        // 第二、三次创建前分别退避 500ms、1000ms
+        assertTrue(elapsedMillis >= 1400L, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    public void creationRecoversAfterFailure() throws Exception {
+        StubBrowserContextFactory factory = new StubBrowserContextFactory(0, new IllegalStateException("launch failed"));
+        pool = newPool(factory, 2);
+        assertThrows(PlaywrightException.class, () -> pool.borrowObject(Duration.ofSeconds(10)));
+        factory.failure = null;
+        BrowserContext browserContext = pool.borrowObject(Duration.ofSeconds(10));
+        assertNotNull(browserContext);
+        pool.returnObject(browserContext);
+    }
+
+    private static BrowserContextPool newPool(StubBrowserContextFactory factory, int maxTotal) {
+        GenericObjectPoolConfig<BrowserContext> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(maxTotal);
+        config.setMaxIdle(maxTotal);
+        config.setMinIdle(0);
+        config.setJmxEnabled(false);
+        BrowserContextPool pool = new BrowserContextPool(factory, config);
+        pool.setCreationConcurrency(maxTotal);
+        return pool;
+    }
+
+    static class StubBrowserContextFactory extends BasePooledObjectFactory<BrowserContext> {
+
+        private final AtomicInteger attempts = new AtomicInteger(0);
+        private final AtomicInteger created = new AtomicInteger(0);
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private final long createNanos;
+        private volatile RuntimeException failure;
+
+        StubBrowserContextFactory(long createMicros, RuntimeException failure) {
+            this.createNanos = TimeUnit.MICROSECONDS.toNanos(createMicros);
+            this.failure = failure;
+        }
+
+        @Override
+        public BrowserContext create() {
+            attempts.incrementAndGet();
+            threads.add(Thread.currentThread().getName());
+            if (createNanos > 0) {
+                LockSupport.parkNanos(createNanos);
+            }
+            RuntimeException e = failure;
+            if (e != null) {
+                throw e;
+            }
+            String name = "StubBrowserContext@" + created.incrementAndGet();
+            return (BrowserContext) Proxy.newProxyInstance(BrowserContext.class.getClassLoader(),
+                    new Class<?>[]{BrowserContext.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "toString":
+                                return name;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                        }
+                    });
+        }
+
+        @Override
+        public PooledObject<BrowserContext> wrap(BrowserContext browserContext) {
+            return new DefaultPooledObject<>(browserContext);
+        }
+
+    }
+
+}
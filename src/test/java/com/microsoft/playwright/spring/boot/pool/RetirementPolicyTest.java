@@ -0,0 +1,52 @@
+package com.microsoft.playwright.spring.boot.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetirementPolicyTest {
+
+    @Test
+    public void unlimitedWithoutLifetimeOrUses() {
+        assertEquals(Long.MAX_VALUE, RetirementPolicy.NONE.expiresAt(1000L));
+        assertEquals(Integer.MAX_VALUE, RetirementPolicy.NONE.maxUses());
+        RetirementPolicy policy = new RetirementPolicy(Duration.ZERO, -1, 0.5D);
+        assertEquals(Long.MAX_VALUE, policy.expiresAt(1000L));
+        assertEquals(Integer.MAX_VALUE, policy.maxUses());
+    }
+
+    @Test
+    public void exactLimitsWithoutJitter() {
+        RetirementPolicy policy = new RetirementPolicy(Duration.ofMinutes(10), 100, 0D);
+        assertEquals(1000L + Duration.ofMinutes(10).toMillis(), policy.expiresAt(1000L));
+        assertEquals(100, policy.maxUses());
+    }
+
+    @Test
+    public void jitterOnlyLowersLimitsWithinRatio() {
+        long lifetime = Duration.ofMinutes(10).toMillis();
+        RetirementPolicy policy = new RetirementPolicy(Duration.ofMillis(lifetime), 100, 0.2D);
+        boolean lowered = false;
+        for (int i = 0; i < 1000; i++) {
+            long expiresAt = policy.expiresAt(0L);
+            assertTrue(expiresAt <= lifetime && expiresAt > lifetime * 0.8D, "expiresAt " + expiresAt);
+            int maxUses = policy.maxUses();
+            assertTrue(maxUses <= 100 && maxUses > 80, "maxUses " + maxUses);
+            lowered |= expiresAt < lifetime;
+        }
+        assertTrue(lowered);
+    }
+
+    @Test
+    public void jitterIsClamped() {
+        assertEquals(0D, new RetirementPolicy(null, 0, -1D).getJitter(), 0D);
+        assertEquals(0.99D, new RetirementPolicy(null, 0, 5D).getJitter(), 0D);
+        RetirementPolicy policy = new RetirementPolicy(null, 1, 0.99D);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, policy.maxUses());
+        }
+    }
+
+}
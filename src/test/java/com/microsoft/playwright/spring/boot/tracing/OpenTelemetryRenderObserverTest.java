@@ -0,0 +1,170 @@
+package com.microsoft.playwright.spring.boot.tracing;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.microsoft.playwright.spring.boot.exception.PlaywrightException;
+import com.microsoft.playwright.spring.boot.options.PageNavigateOptions;
+import com.microsoft.playwright.spring.boot.pool.BrowserContextPool;
+import com.microsoft.playwright.spring.boot.render.PageRenderer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpenTelemetryRenderObserverTest {
+
+    private static final byte[] OUTPUT = {1, 2, 3};
+
+    private InMemorySpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private BrowserContextPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        exporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        tracerProvider.close();
+    }
+
+    @Test
+    public void recordsRenderPhasesAsChildSpans() {
+        PageRenderer renderer = newRenderer(false);
+        byte[] output = renderer.screenshot("https://example.com/index.html",
+                new PageNavigateOptions().setWaitUntil(WaitUntilState.LOAD), new Page.ScreenshotOptions());
+        assertArrayEquals(OUTPUT, output);
+
+        Map<String, SpanData> spans = spansByName();
+        assertEquals(Arrays.asList("playwright.render", "playwright.borrow", "playwright.navigate", "playwright.wait", "playwright.screenshot"),
+                Arrays.asList(spans.keySet().toArray()));
+        SpanData render = spans.get("playwright.render");
+        assertFalse(render.getParentSpanContext().isValid());
+        assertEquals(SpanKind.CLIENT, render.getKind());
+        for (SpanData span : spans.values()) {
+            if (span != render) {
+                assertEquals(render.getTraceId(), span.getTraceId());
+                assertEquals(render.getSpanId(), span.getParentSpanId(), span.getName());
+                assertEquals(SpanKind.INTERNAL, span.getKind());
+            }
+        }
+
+        assertEquals("example.com", render.getAttributes().get(AttributeKey.stringKey(PageRenderer.ATTR_URL_HOST)));
+        assertEquals("screenshot", render.getAttributes().get(AttributeKey.stringKey(PageRenderer.ATTR_OPERATION)));
+        assertEquals(Long.valueOf(OUTPUT.length), render.getAttributes().get(AttributeKey.longKey(PageRenderer.ATTR_OUTPUT_BYTES)));
+        assertNotNull(render.getAttributes().get(AttributeKey.longKey(PageRenderer.ATTR_POOL_WAIT_MS)));
+        assertNotNull(spans.get("playwright.borrow").getAttributes().get(AttributeKey.longKey(PageRenderer.ATTR_POOL_WAIT_MS)));
+        assertEquals("example.com", spans.get("playwright.navigate").getAttributes().get(AttributeKey.stringKey(PageRenderer.ATTR_URL_HOST)));
+        assertEquals("load", spans.get("playwright.wait").getAttributes().get(AttributeKey.stringKey(PageRenderer.ATTR_WAIT_UNTIL)));
+        assertEquals(Long.valueOf(OUTPUT.length), spans.get("playwright.screenshot").getAttributes().get(AttributeKey.longKey(PageRenderer.ATTR_OUTPUT_BYTES)));
+    }
+
+    @Test
+    public void commitSkipsWaitPhase() {
+        PageRenderer renderer = newRenderer(false);
+        renderer.screenshot("https://example.com/", new PageNavigateOptions().setWaitUntil(WaitUntilState.COMMIT), new Page.ScreenshotOptions());
+        assertEquals(Arrays.asList("playwright.render", "playwright.borrow", "playwright.navigate", "playwright.screenshot"),
+                Arrays.asList(spansByName().keySet().toArray()));
+    }
+
+    @Test
+    public void marksFailedPhaseAndRenderAsError() {
+        PageRenderer renderer = newRenderer(true);
+        assertThrows(PlaywrightException.class, () -> renderer.screenshot("https://example.com/"));
+        Map<String, SpanData> spans = spansByName();
+        assertEquals(Arrays.asList("playwright.render", "playwright.borrow"), Arrays.asList(spans.keySet().toArray()));
+        assertEquals(StatusCode.ERROR, spans.get("playwright.borrow").getStatus().getStatusCode());
+        assertEquals(StatusCode.ERROR, spans.get("playwright.render").getStatus().getStatusCode());
+        assertFalse(spans.get("playwright.render").getEvents().isEmpty());
+    }
+
+    private PageRenderer newRenderer(boolean failCreation) {
+        pool = new BrowserContextPool(new StubBrowserContextFactory(failCreation));
+        return new PageRenderer(pool, null, null, null, new OpenTelemetryRenderObserver(tracerProvider.get("test")));
+    }
+
+    /**
+     * 按开始时间排序的 span，以名称为键
+     */
+    private Map<String, SpanData> spansByName() {
+        List<SpanData> finished = exporter.getFinishedSpanItems();
+        Map<String, SpanData> spans = new LinkedHashMap<>();
+        finished.stream()
+                .sorted((a, b) -> Long.compare(a.getStartEpochNanos(), b.getStartEpochNanos()))
+                .forEach(span -> assertNull(spans.put(span.getName(), span), span.getName()));
+        return spans;
+    }
+
+    static class StubBrowserContextFactory extends BasePooledObjectFactory<BrowserContext> {
+
+        private final boolean failCreation;
+
+        StubBrowserContextFactory(boolean failCreation) {
+            this.failCreation = failCreation;
+        }
+
+        @Override
+        public BrowserContext create() {
+            if (failCreation) {
+                throw new IllegalStateException("launch failed");
+            }
+            return stub(BrowserContext.class, (name, args) -> "newPage".equals(name) ? stub(Page.class, (pageMethod, pageArgs) ->
+                    "screenshot".equals(pageMethod) ? OUTPUT.clone() : null) : null);
+        }
+
+        @Override
+        public PooledObject<BrowserContext> wrap(BrowserContext browserContext) {
+            return new DefaultPooledObject<>(browserContext);
+        }
+
+    }
+
+    interface StubMethod {
+
+        Object invoke(String name, Object[] args);
+
+    }
+
+    static <T> T stub(Class<T> type, StubMethod handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "Stub" + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    Object result = handler.invoke(method.getName(), args);
+                    if (result == null && method.getReturnType() == boolean.class) {
+                        return Boolean.FALSE;
+                    }
+                    return result;
+            }
+        }));
+    }
+
+}